@@ -0,0 +1,331 @@
+package p1.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TreeMap;
+import p1.engine.CalendarioEventos;
+import p1.engine.Metrics;
+import p1.engine.NucleoEventos;
+import p1.engine.Segment;
+import p1.engine.SimulationCollector;
+import p1.engine.SimulationResult;
+import p1.model.ProcessTable;
+import p1.model.Proceso;
+import p1.schedule.RR;
+import p1.scheduler.FCFS;
+import p1.scheduler.PlanificadorES;
+import p1.scheduler.PlanificadorTabla;
+import p1.scheduler.RRIndexado;
+import p1.scheduler.SJF;
+import p1.scheduler.SJFHeap;
+import p1.scheduler.SRTF;
+import p1.scheduler.SRTFEventos;
+
+/**
+ * Prueba diferencial entre las implementaciones de referencia (FCFS, SJF,
+ * SRTF y RR sobre {@code List<Proceso>}) y los motores optimizados sobre
+ * {@link ProcessTable}: simulación completa, streaming y {@link PlanificadorES}
+ * sin E/S. Este último corre con un {@link NucleoEventos.Observador} que
+ * además revisa el núcleo (reloj que no retrocede, un solo proceso en CPU).
+ * - Genera miles de cargas aleatorias pequeñas con empates de llegada,
+ *   huecos largos, llegadas justo al terminar el anterior y ráfagas iguales,
+ *   con quantum y costo de cambio de contexto variados.
+ * - Compara timelines (fusionando segmentos contiguos del mismo proceso, que
+ *   es lo único en que pueden diferir, y sin IDLE en SRTF, que no los emite),
+ *   tiempo final y métricas por proceso.
+ * - Ante la primera diferencia achica la carga (quita procesos, baja
+ *   llegadas, ráfagas, quantum y costo) mientras siga fallando, y muestra el
+ *   contraejemplo mínimo.
+ *
+ * Uso: {@code ant diferencial [-Ddiferencial.args="cargas semilla"]}; sale
+ * con código 1 si encuentra una diferencia.
+ */
+public final class Diferencial {
+
+    /** Una forma de simular una carga. */
+    private interface Motor {
+        SimulationResult correr(List<Proceso> procesos, int quantum, int coste);
+    }
+
+    /** Referencia y versión optimizada que deben coincidir. */
+    private static final class Par {
+        final String nombre;
+        final Motor referencia;
+        final Motor optimizado;
+        final boolean admiteCoste;
+        final boolean sinIdle;     // la referencia no emite IDLE: no se comparan
+
+        Par(String nombre, Motor referencia, Motor optimizado, boolean admiteCoste, boolean sinIdle) {
+            this.nombre = nombre;
+            this.referencia = referencia;
+            this.optimizado = optimizado;
+            this.admiteCoste = admiteCoste;
+            this.sinIdle = sinIdle;
+        }
+    }
+
+    /** Una carga con sus parámetros. */
+    private static final class Carga {
+        final List<Proceso> procesos;
+        final int quantum;
+        final int coste;
+
+        Carga(List<Proceso> procesos, int quantum, int coste) {
+            this.procesos = procesos;
+            this.quantum = quantum;
+            this.coste = coste;
+        }
+    }
+
+    private static final List<Par> PARES = new ArrayList<>();
+
+    static {
+        Motor fcfs = (p, q, c) -> new FCFS(c).simular(p);
+        Motor sjf = (p, q, c) -> new SJF(c).simular(p);
+        Motor srtf = (p, q, c) -> new SRTF(c).simular(p);
+        Motor rr = (p, q, c) -> new RR(q, c).simular(p);
+
+        PARES.add(new Par("FCFS / tabla", fcfs, (p, q, c) -> tabla(new FCFS(c), p), true, false));
+        PARES.add(new Par("FCFS / streaming", fcfs, (p, q, c) -> streaming(new FCFS(c), p), true, false));
+        PARES.add(new Par("FCFS / E/S", fcfs, (p, q, c) -> nucleo(new PlanificadorES(PlanificadorES.Politica.FCFS), p), false, false));
+        PARES.add(new Par("SJF / SJFHeap", sjf, (p, q, c) -> tabla(new SJFHeap(c), p), true, false));
+        PARES.add(new Par("SJF / streaming", sjf, (p, q, c) -> streaming(new SJFHeap(c), p), true, false));
+        PARES.add(new Par("SJF / E/S", sjf, (p, q, c) -> nucleo(new PlanificadorES(PlanificadorES.Politica.SJF), p), false, false));
+        PARES.add(new Par("SRTF / SRTFEventos", srtf, (p, q, c) -> tabla(new SRTFEventos(c), p), true, true));
+        PARES.add(new Par("SRTF / streaming", srtf, (p, q, c) -> streaming(new SRTFEventos(c), p), true, true));
+        PARES.add(new Par("SRTF / E/S", srtf, (p, q, c) -> nucleo(new PlanificadorES(PlanificadorES.Politica.SRTF), p), false, true));
+        PARES.add(new Par("RR / RRIndexado", rr, (p, q, c) -> tabla(new RRIndexado(q, c), p), true, false));
+        PARES.add(new Par("RR / streaming", rr, (p, q, c) -> streaming(new RRIndexado(q, c), p), true, false));
+        PARES.add(new Par("RR / E/S", rr, (p, q, c) -> nucleo(new PlanificadorES(PlanificadorES.Politica.RR, q), p), false, false));
+    }
+
+    private Diferencial() {
+    }
+
+    public static void main(String[] args) {
+        int cargas = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        long semilla = args.length > 1 ? Long.parseLong(args[1]) : 1;
+        SplittableRandom azar = new SplittableRandom(semilla);
+        long comparaciones = 0;
+        for (int k = 0; k < cargas; k++) {
+            Carga carga = generar(azar);
+            for (Par par : PARES) {
+                Carga c = par.admiteCoste ? carga : new Carga(carga.procesos, carga.quantum, 0);
+                comparaciones++;
+                if (falla(par, c)) {
+                    System.out.println("Diferencia en " + par.nombre + " (carga " + k + ", semilla " + semilla + ")");
+                    mostrar(par, minimizar(par, c));
+                    System.exit(1);
+                }
+            }
+        }
+        System.out.println(cargas + " cargas, " + comparaciones + " comparaciones: sin diferencias");
+    }
+
+    // ==========================
+    // Generación de cargas
+    // ==========================
+
+    private static Carga generar(SplittableRandom azar) {
+        int n = azar.nextInt(10) == 0 ? azar.nextInt(13, 60) : azar.nextInt(1, 13);
+        List<Proceso> procesos = new ArrayList<>(n);
+        int modo = azar.nextInt(5);
+        int rafagaComun = azar.nextInt(1, 6);
+        int reloj = 0;
+        for (int i = 0; i < n; i++) {
+            int rafaga = modo == 4 ? rafagaComun : azar.nextInt(1, 9);
+            int llegada;
+            switch (modo) {
+                case 1:
+                    // Empates: pocas llegadas distintas
+                    llegada = 3 * azar.nextInt(3);
+                    break;
+                case 2:
+                    // Huecos largos entre llegadas (CPU ociosa)
+                    reloj += azar.nextInt(4) == 0 ? azar.nextInt(10, 40) : azar.nextInt(3);
+                    llegada = reloj;
+                    break;
+                case 3:
+                    // Cada proceso llega justo cuando terminaría el anterior
+                    llegada = reloj;
+                    reloj += rafaga;
+                    break;
+                default:
+                    llegada = azar.nextInt(20);
+            }
+            procesos.add(new Proceso("P" + (i + 1), llegada, rafaga));
+        }
+        int quantum = azar.nextInt(1, 7);
+        int coste = azar.nextInt(3) == 0 ? azar.nextInt(1, 4) : 0;
+        return new Carga(procesos, quantum, coste);
+    }
+
+    // ==========================
+    // Comparación
+    // ==========================
+
+    private static boolean falla(Par par, Carga carga) {
+        String esperado = ejecutar(par, par.referencia, carga);
+        String obtenido = ejecutar(par, par.optimizado, carga);
+        return !esperado.equals(obtenido);
+    }
+
+    /** Firma del resultado del motor, o la excepción que lanzó. */
+    private static String ejecutar(Par par, Motor motor, Carga carga) {
+        try {
+            return firma(motor.correr(new ArrayList<>(carga.procesos), carga.quantum, carga.coste), par.sinIdle);
+        } catch (RuntimeException e) {
+            return "excepción: " + e;
+        }
+    }
+
+    private static SimulationResult tabla(PlanificadorTabla planificador, List<Proceso> procesos) {
+        return planificador.simular(ProcessTable.de(procesos));
+    }
+
+    /**
+     * Corre sobre el estado del planificador con un observador que falla si el
+     * reloj retrocede, si se despacha con la CPU ocupada o si la deja alguien
+     * que no estaba en ella; la excepción cuenta como diferencia.
+     */
+    private static SimulationResult nucleo(PlanificadorES planificador, List<Proceso> procesos) {
+        ProcessTable t = ProcessTable.de(procesos);
+        PlanificadorES.Estado estado = planificador.iniciar(t);
+        int[] reloj = {0};
+        int[] enCpu = {-1};
+        estado.setObservador((tipo, fila, tiempo) -> {
+            if (tiempo < reloj[0]) throw new IllegalStateException("El reloj volvió de " + reloj[0] + " a " + tiempo);
+            reloj[0] = tiempo;
+            if (tipo == NucleoEventos.DESPACHO) {
+                if (enCpu[0] != -1) throw new IllegalStateException("Despacho de " + fila + " con " + enCpu[0] + " en CPU");
+                enCpu[0] = fila;
+            } else if (tipo == NucleoEventos.EXPROPIADO || tipo == CalendarioEventos.FIN_QUANTUM
+                    || tipo == CalendarioEventos.FIN_RAFAGA) {
+                if (enCpu[0] != fila) throw new IllegalStateException(fila + " deja la CPU sin estar en ella");
+                enCpu[0] = -1;
+            }
+        });
+        SimulationCollector colector = new SimulationCollector(t, false);
+        planificador.avanzar(estado, t, colector, Long.MAX_VALUE, Long.MAX_VALUE);
+        if (enCpu[0] != -1) throw new IllegalStateException(enCpu[0] + " sigue en CPU al terminar");
+        return colector.resultado(estado.getTiempo());
+    }
+
+    private static SimulationResult streaming(PlanificadorTabla planificador, List<Proceso> procesos) {
+        List<Segment> segmentos = new ArrayList<>();
+        Map<String, Metrics> metricas = new TreeMap<>();
+        SimulationResult r = planificador.simular(ProcessTable.de(procesos), segmentos::add, metricas::put);
+        return new SimulationResult(segmentos, metricas, r.getTiempoFinal());
+    }
+
+    /**
+     * Timeline normalizado (contiguos del mismo proceso fusionados, sin
+     * segmentos vacíos y, si se pide, sin IDLE), tiempo final y métricas.
+     */
+    private static String firma(SimulationResult r, boolean sinIdle) {
+        StringBuilder sb = new StringBuilder();
+        String id = null;
+        int inicio = 0;
+        int fin = 0;
+        for (Segment s : r.getTimeline()) {
+            if (s.getDuracion() == 0 || (sinIdle && "IDLE".equals(s.getProcesoId()))) continue;
+            if (s.getProcesoId().equals(id) && s.getInicio() == fin) {
+                fin = s.getFin();
+                continue;
+            }
+            if (id != null) sb.append(id).append(' ').append(inicio).append('-').append(fin).append(", ");
+            id = s.getProcesoId();
+            inicio = s.getInicio();
+            fin = s.getFin();
+        }
+        if (id != null) sb.append(id).append(' ').append(inicio).append('-').append(fin);
+        sb.append("\n  fin ").append(r.getTiempoFinal()).append('\n');
+        for (Map.Entry<String, Metrics> e : new TreeMap<>(r.getMetricsPorProceso()).entrySet()) {
+            Metrics m = e.getValue();
+            sb.append("  ").append(e.getKey()).append(": espera ").append(m.espera)
+                    .append(", respuesta ").append(m.respuesta).append(", retorno ").append(m.turnaround).append('\n');
+        }
+        return sb.toString();
+    }
+
+    // ==========================
+    // Minimización
+    // ==========================
+
+    /** Achica la carga mientras siga fallando, hasta que ningún paso ayude. */
+    private static Carga minimizar(Par par, Carga carga) {
+        boolean cambio = true;
+        while (cambio) {
+            cambio = false;
+            // Quitar procesos
+            for (int i = 0; i < carga.procesos.size() && carga.procesos.size() > 1; ) {
+                List<Proceso> menos = new ArrayList<>(carga.procesos);
+                menos.remove(i);
+                Carga c = new Carga(menos, carga.quantum, carga.coste);
+                if (falla(par, c)) {
+                    carga = c;
+                    cambio = true;
+                } else {
+                    i++;
+                }
+            }
+            // Bajar llegadas y ráfagas
+            for (int i = 0; i < carga.procesos.size(); i++) {
+                for (int campo = 0; campo < 2; campo++) {
+                    Proceso p = carga.procesos.get(i);
+                    int valor = campo == 0 ? p.getLlegada() : p.getRafaga();
+                    int minimo = campo == 0 ? 0 : 1;
+                    for (int v : candidatos(valor, minimo)) {
+                        List<Proceso> otra = new ArrayList<>(carga.procesos);
+                        otra.set(i, campo == 0
+                                ? new Proceso(p.getId(), v, p.getRafaga())
+                                : new Proceso(p.getId(), p.getLlegada(), v));
+                        Carga c = new Carga(otra, carga.quantum, carga.coste);
+                        if (falla(par, c)) {
+                            carga = c;
+                            cambio = true;
+                            break;
+                        }
+                    }
+                }
+            }
+            // Bajar quantum y costo
+            for (int v : candidatos(carga.quantum, 1)) {
+                Carga c = new Carga(carga.procesos, v, carga.coste);
+                if (falla(par, c)) {
+                    carga = c;
+                    cambio = true;
+                    break;
+                }
+            }
+            for (int v : candidatos(carga.coste, 0)) {
+                Carga c = new Carga(carga.procesos, carga.quantum, v);
+                if (falla(par, c)) {
+                    carga = c;
+                    cambio = true;
+                    break;
+                }
+            }
+        }
+        return carga;
+    }
+
+    /** Valores menores a probar, del más agresivo al más conservador. */
+    private static int[] candidatos(int valor, int minimo) {
+        if (valor <= minimo) return new int[0];
+        int mitad = Math.max(minimo, valor / 2);
+        return new int[]{minimo, mitad, valor - 1};
+    }
+
+    private static void mostrar(Par par, Carga carga) {
+        System.out.println("Contraejemplo mínimo (quantum " + carga.quantum + ", costo de cambio " + carga.coste + "):");
+        System.out.println("id,llegada,rafaga");
+        for (Proceso p : carga.procesos) {
+            System.out.println(p.getId() + "," + p.getLlegada() + "," + p.getRafaga());
+        }
+        System.out.println("Referencia:\n  " + ejecutar(par, par.referencia, carga));
+        System.out.println("Optimizado:\n  " + ejecutar(par, par.optimizado, carga));
+    }
+}
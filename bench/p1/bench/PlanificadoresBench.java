@@ -0,0 +1,128 @@
+package p1.bench;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import p1.engine.SimulationResult;
+import p1.model.GeneradorCarga;
+import p1.model.ProcessTable;
+import p1.scheduler.FCFS;
+import p1.scheduler.Planificador;
+import p1.scheduler.RRIndexado;
+import p1.scheduler.SJF;
+import p1.scheduler.SRTF;
+
+/**
+ * Costo de simular una carga completa con FCFS, SJF, SRTF y RR.
+ * - Todos reciben un {@link ProcessTable}: FCFS es columnar, y SJF y SRTF
+ *   delegan en SJFHeap y SRTFEventos, que dan el mismo resultado. RR se mide
+ *   directamente con {@link RRIndexado}; el {@code RR} de referencia no delega
+ *   porque su timeline (IDLE de a una unidad) es distinto.
+ * - Tamaños de 10^2 a 10^6 procesos: si el tiempo por proceso crece con el
+ *   tamaño, algún planificador se volvió cuadrático.
+ * - Llegadas Poisson, en ráfagas (MMPP) y todas juntas en t = 0 (cola de
+ *   listos lo más grande posible), con ráfagas exponenciales de media 5 y
+ *   carga ~90 %.
+ * - "procesos" (contador auxiliar) es el throughput en procesos/s; con
+ *   {@code -prof gc}, gc.alloc.rate.norm / procesos da los bytes por proceso.
+ *
+ * Se corre con {@code ant bench} (ver build.xml).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PlanificadoresBench {
+
+    private static final double RAFAGA_MEDIA = 5;
+    private static final double CARGA = 0.9;
+
+    @Param({"FCFS", "SJF", "SRTF", "RR-2", "RR-8", "RR-32"})
+    public String algoritmo;
+
+    @Param({"100", "1000", "10000", "100000", "1000000"})
+    public int procesos;
+
+    @Param({"poisson", "rafagas", "simultaneas"})
+    public String llegadas;
+
+    private Planificador planificador;
+    private ProcessTable tabla;
+
+    /** Procesos simulados, para reportar el throughput en procesos/s. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Contador {
+        public long procesos;
+
+        @Setup(Level.Iteration)
+        public void reiniciar() {
+            procesos = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        planificador = crear(algoritmo);
+        double tasa = CARGA / RAFAGA_MEDIA;
+        GeneradorCarga.Llegadas ll;
+        switch (llegadas) {
+            case "poisson":
+                ll = GeneradorCarga.Llegadas.poisson(tasa);
+                break;
+            case "rafagas":
+                // Misma tasa media: 4x durante 1/4 del tiempo
+                ll = GeneradorCarga.Llegadas.rafagas(4 * tasa, 0, 50, 150);
+                break;
+            case "simultaneas":
+                // Intervalos tan cortos que todas las llegadas se redondean a 0
+                ll = GeneradorCarga.Llegadas.poisson(1e12);
+                break;
+            default:
+                throw new IllegalArgumentException("Llegadas desconocidas: " + llegadas);
+        }
+        tabla = new GeneradorCarga(ll, GeneradorCarga.Rafagas.exponencial(RAFAGA_MEDIA), procesos, 42).tabla();
+    }
+
+    static Planificador crear(String algoritmo) {
+        if (algoritmo.startsWith("RR-")) return new RRIndexado(Integer.parseInt(algoritmo.substring(3)));
+        switch (algoritmo) {
+            case "FCFS":
+                return new FCFS();
+            case "SJF":
+                return new SJF();
+            case "SRTF":
+                return new SRTF();
+            default:
+                throw new IllegalArgumentException("Algoritmo desconocido: " + algoritmo);
+        }
+    }
+
+    /** Simulación completa: timeline, métricas por proceso y resumen. */
+    @Benchmark
+    public SimulationResult simular(Contador contador) {
+        contador.procesos += procesos;
+        return planificador.simular(tabla);
+    }
+
+    /** Simulación en streaming: sin timeline ni mapa de métricas en memoria. */
+    @Benchmark
+    public SimulationResult simularStreaming(Contador contador, Blackhole bh) {
+        contador.procesos += procesos;
+        return planificador.simular(tabla, bh::consume, (id, m) -> bh.consume(m));
+    }
+}
@@ -0,0 +1,53 @@
+package p1.engine;
+
+/**
+ * Árbol de Fenwick (binary indexed tree) sobre pesos long de las filas [0, n).
+ * Cambiar un peso y buscar la fila donde cae un valor acumulado cuestan
+ * O(log n), así un sorteo por boletos no recorre todos los procesos.
+ */
+public class ArbolFenwick {
+    private final long[] arbol;   // 1-based
+    private final int alto;       // mayor potencia de 2 <= n
+    private long total;
+
+    public ArbolFenwick(int n) {
+        arbol = new long[Math.max(1, n) + 1];
+        alto = Integer.highestOneBit(arbol.length - 1);
+    }
+
+    public long total() { return total; }
+
+    /** Suma {@code delta} al peso de la fila {@code fila}. */
+    public void sumar(int fila, long delta) {
+        total += delta;
+        for (int i = fila + 1; i < arbol.length; i += i & -i) {
+            arbol[i] += delta;
+        }
+    }
+
+    /** Suma de los pesos de las filas [0, fila]. */
+    public long prefijo(int fila) {
+        long s = 0;
+        for (int i = fila + 1; i > 0; i -= i & -i) {
+            s += arbol[i];
+        }
+        return s;
+    }
+
+    /**
+     * Fila donde cae el valor acumulado {@code k}: la menor fila con
+     * {@code prefijo(fila) > k}. Requiere 0 <= k < total().
+     */
+    public int buscar(long k) {
+        if (k < 0 || k >= total) throw new IllegalArgumentException("Fuera de rango: " + k);
+        int pos = 0;
+        for (int paso = alto; paso > 0; paso >>= 1) {
+            int sig = pos + paso;
+            if (sig < arbol.length && arbol[sig] <= k) {
+                pos = sig;
+                k -= arbol[sig];
+            }
+        }
+        return pos;
+    }
+}
@@ -0,0 +1,108 @@
+package p1.engine;
+
+import p1.model.ProcessTable;
+import p1.scheduler.RRIndexado;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Barrido de Round Robin sobre un rango de quantums (y opcionalmente de
+ * costos de cambio de contexto) con la misma carga.
+ *
+ * Cada punto es independiente: se reparte con fork/join entre todos los
+ * núcleos y cada corrida usa el modo streaming de {@link RRIndexado}, así que
+ * solo se guarda el {@link MetricsSummary} de cada punto, no su timeline.
+ * La tabla se comparte entre hilos y solo se lee.
+ */
+public class BarridoQuantum {
+
+    /** Resultado de un punto del barrido. */
+    public static class Punto {
+        public final int quantum;
+        public final int costeCambio;
+        public final double respuestaPromedio;
+        public final int respuestaP95;
+        public final double turnaroundPromedio;
+        public final int turnaroundP95;
+        public final int tiempoFinal;
+
+        public Punto(int quantum, int costeCambio, SimulationResult r) {
+            MetricsSummary s = r.getResumen();
+            this.quantum = quantum;
+            this.costeCambio = costeCambio;
+            this.respuestaPromedio = s.getRespuesta().getPromedio();
+            this.respuestaP95 = s.getRespuesta().percentil(95);
+            this.turnaroundPromedio = s.getTurnaround().getPromedio();
+            this.turnaroundP95 = s.getTurnaround().percentil(95);
+            this.tiempoFinal = r.getTiempoFinal();
+        }
+    }
+
+    private final int[] quantums;
+    private final int[] costes;
+
+    /** Barrido solo de quantum, sin costo de cambio. */
+    public BarridoQuantum(int qMin, int qMax, int qPaso) {
+        this(qMin, qMax, qPaso, 0, 0, 1);
+    }
+
+    public BarridoQuantum(int qMin, int qMax, int qPaso, int cMin, int cMax, int cPaso) {
+        if (qMin <= 0 || qMax < qMin || qPaso <= 0) throw new IllegalArgumentException("Rango de quantum inválido");
+        if (cMin < 0 || cMax < cMin || cPaso <= 0) throw new IllegalArgumentException("Rango de costo inválido");
+        this.quantums = rango(qMin, qMax, qPaso);
+        this.costes = rango(cMin, cMax, cPaso);
+    }
+
+    private static int[] rango(int min, int max, int paso) {
+        int[] r = new int[(max - min) / paso + 1];
+        for (int i = 0; i < r.length; i++) r[i] = min + i * paso;
+        return r;
+    }
+
+    public int getPuntos() {
+        return quantums.length * costes.length;
+    }
+
+    public List<Punto> ejecutar(ProcessTable tabla) {
+        return ejecutar(tabla, ForkJoinPool.commonPool());
+    }
+
+    /** Corre todos los puntos en el pool; la lista va ordenada por (costo, quantum). */
+    public List<Punto> ejecutar(ProcessTable tabla, ForkJoinPool pool) {
+        Punto[] puntos = new Punto[getPuntos()];
+        pool.invoke(new Tramo(tabla, puntos, 0, puntos.length));
+        return new ArrayList<>(Arrays.asList(puntos));
+    }
+
+    /** Divide el rango de puntos a la mitad hasta dejar un punto por tarea. */
+    private class Tramo extends RecursiveAction {
+        private final ProcessTable tabla;
+        private final Punto[] puntos;
+        private final int desde;
+        private final int hasta;
+
+        Tramo(ProcessTable tabla, Punto[] puntos, int desde, int hasta) {
+            this.tabla = tabla;
+            this.puntos = puntos;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        @Override
+        protected void compute() {
+            if (hasta - desde == 1) {
+                int q = quantums[desde % quantums.length];
+                int c = costes[desde / quantums.length];
+                SimulationResult r = new RRIndexado(q, c).simular(tabla, s -> { }, (id, m) -> { });
+                puntos[desde] = new Punto(q, c, r);
+                return;
+            }
+            int medio = (desde + hasta) >>> 1;
+            invokeAll(new Tramo(tabla, puntos, desde, medio), new Tramo(tabla, puntos, medio, hasta));
+        }
+    }
+}
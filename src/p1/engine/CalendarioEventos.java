@@ -0,0 +1,49 @@
+package p1.engine;
+
+import java.io.Serializable;
+
+/**
+ * Calendario de eventos discretos: montículo de eventos (tiempo, tipo, fila)
+ * empaquetados en un long, sin objetos por evento.
+ *
+ * A igual tiempo se atienden por tipo en el orden de las constantes (primero
+ * las llegadas y los fines de E/S, después los de CPU y al final los
+ * temporizadores de la política), así un proceso que agota su quantum vuelve
+ * a la cola detrás de los que se volvieron listos en ese mismo instante, como
+ * en RR. Dentro del mismo tipo, por fila.
+ *
+ * Límites: tiempo en [0, 2^31) y fila en [0, 2^29).
+ */
+public class CalendarioEventos implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    public static final int LLEGADA = 0;
+    public static final int FIN_ES = 1;
+    public static final int FIN_QUANTUM = 2;
+    public static final int FIN_RAFAGA = 3;
+    public static final int TEMPORIZADOR = 4;
+
+    private static final int BITS_FILA = 29;
+    private static final long MASCARA_FILA = (1L << BITS_FILA) - 1;
+
+    private final LongHeap eventos = new LongHeap();
+
+    public void programar(int tiempo, int tipo, int fila) {
+        if (fila < 0 || fila > MASCARA_FILA) throw new IllegalArgumentException("Fila fuera de rango: " + fila);
+        eventos.add(((long) tiempo << 32) | ((long) tipo << BITS_FILA) | fila);
+    }
+
+    public boolean isEmpty() { return eventos.isEmpty(); }
+    public int size() { return eventos.size(); }
+
+    /** Siguiente evento sin quitarlo. */
+    public long peek() { return eventos.peek(); }
+
+    public long poll() { return eventos.poll(); }
+
+    public void clear() { eventos.clear(); }
+
+    public static int tiempo(long evento) { return (int) (evento >>> 32); }
+    public static int tipo(long evento) { return (int) ((evento >>> BITS_FILA) & 0x7); }
+    public static int fila(long evento) { return (int) (evento & MASCARA_FILA); }
+}
@@ -0,0 +1,90 @@
+package p1.engine;
+
+import p1.model.ProcessTable;
+import p1.scheduler.Planificador;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Corre varios planificadores sobre la misma carga al mismo tiempo, uno por
+ * hilo virtual, y arma un reporte lado a lado. El tiempo total queda cerca del
+ * algoritmo más lento en lugar de la suma.
+ *
+ * La tabla se comparte entre hilos: no debe modificarse mientras corre la
+ * comparación. Cada planificador se ejecuta en modo streaming, así que solo se
+ * conserva su {@link MetricsSummary}.
+ */
+public class Comparador {
+
+    /** Resultado de un algoritmo dentro de la comparación. */
+    public static class Fila {
+        public final String algoritmo;
+        public final MetricsSummary resumen;
+        public final int makespan;
+        public final long nanos;
+
+        public Fila(String algoritmo, MetricsSummary resumen, int makespan, long nanos) {
+            this.algoritmo = algoritmo;
+            this.resumen = resumen;
+            this.makespan = makespan;
+            this.nanos = nanos;
+        }
+    }
+
+    private final Map<String, Planificador> planificadores = new LinkedHashMap<>();
+
+    public Comparador agregar(String nombre, Planificador planificador) {
+        planificadores.put(nombre, planificador);
+        return this;
+    }
+
+    /** Ejecuta todos los algoritmos en paralelo; las filas respetan el orden de alta. */
+    public List<Fila> ejecutar(ProcessTable tabla) {
+        List<Future<Fila>> futuros = new ArrayList<>();
+        try (ExecutorService ejecutor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Map.Entry<String, Planificador> e : planificadores.entrySet()) {
+                futuros.add(ejecutor.submit(() -> {
+                    long t0 = System.nanoTime();
+                    SimulationResult r = e.getValue().simular(tabla, s -> { }, (id, m) -> { });
+                    return new Fila(e.getKey(), r.getResumen(), r.getTiempoFinal(), System.nanoTime() - t0);
+                }));
+            }
+            List<Fila> filas = new ArrayList<>();
+            for (Future<Fila> f : futuros) {
+                filas.add(f.get());
+            }
+            return filas;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Comparación interrumpida", ex);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException("Falló un planificador: " + ex.getCause().getMessage(), ex.getCause());
+        }
+    }
+
+    /** Tabla de texto con promedios, colas (p95/p99), makespan y costo de simulación. */
+    public static String reporte(List<Fila> filas) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("%-10s %10s %8s %8s %10s %8s %8s %10s %8s %8s %10s %10s%n",
+                "Algoritmo", "Esp.prom", "Esp.p95", "Esp.p99", "Resp.prom", "Resp.p95", "Resp.p99",
+                "Turn.prom", "Turn.p95", "Turn.p99", "Makespan", "ms"));
+        for (Fila f : filas) {
+            Distribucion e = f.resumen.getEspera();
+            Distribucion r = f.resumen.getRespuesta();
+            Distribucion t = f.resumen.getTurnaround();
+            sb.append(String.format("%-10s %10.2f %8d %8d %10.2f %8d %8d %10.2f %8d %8d %10d %10.1f%n",
+                    f.algoritmo, e.getPromedio(), e.percentil(95), e.percentil(99),
+                    r.getPromedio(), r.percentil(95), r.percentil(99),
+                    t.getPromedio(), t.percentil(95), t.percentil(99),
+                    f.makespan, f.nanos / 1e6));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,85 @@
+package p1.engine;
+
+import java.io.Serializable;
+
+/**
+ * Distribución de valores enteros no negativos en memoria fija.
+ * Lleva conteo, suma, mínimo y máximo exactos, y un histograma log-lineal
+ * (128 cubetas exactas y luego 64 subcubetas por potencia de 2) para los
+ * percentiles, con error relativo menor a 1.6 %. Ocupa ~13 KB sin importar
+ * cuántos valores se registren.
+ */
+public class Distribucion implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int EXACTAS = 128;
+    private static final int SUB = 64;
+    private static final int CUBETAS = EXACTAS + 24 * SUB;
+
+    private final long[] cubetas = new long[CUBETAS];
+    private long conteo;
+    private long suma;
+    private int minimo = Integer.MAX_VALUE;
+    private int maximo = Integer.MIN_VALUE;
+
+    /** Registra un valor; los negativos se cuentan como 0 en el histograma. */
+    public void registrar(int v) {
+        conteo++;
+        suma += v;
+        if (v < minimo) minimo = v;
+        if (v > maximo) maximo = v;
+        cubetas[cubeta(Math.max(0, v))]++;
+    }
+
+    /** Acumula otra distribución en ésta. */
+    public void combinar(Distribucion otra) {
+        for (int i = 0; i < CUBETAS; i++) cubetas[i] += otra.cubetas[i];
+        conteo += otra.conteo;
+        suma += otra.suma;
+        minimo = Math.min(minimo, otra.minimo);
+        maximo = Math.max(maximo, otra.maximo);
+    }
+
+    public long getConteo() { return conteo; }
+    public long getSuma() { return suma; }
+    public double getPromedio() { return conteo == 0 ? 0 : (double) suma / conteo; }
+    public int getMinimo() { return conteo == 0 ? 0 : minimo; }
+    public int getMaximo() { return conteo == 0 ? 0 : maximo; }
+
+    /**
+     * Percentil {@code p} en [0, 100]: el menor valor de cubeta tal que al
+     * menos p % de los registros son menores o iguales (acotado a [mín, máx]).
+     */
+    public int percentil(double p) {
+        if (conteo == 0) return 0;
+        long objetivo = Math.max(1, (long) Math.ceil(conteo * p / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += cubetas[i];
+            if (acumulado >= objetivo) {
+                return Math.max(getMinimo(), Math.min(maximo, techo(i)));
+            }
+        }
+        return maximo;
+    }
+
+    private static int cubeta(int v) {
+        if (v < EXACTAS) return v;
+        int e = 31 - Integer.numberOfLeadingZeros(v) - 6;     // v >> e queda en [64, 128)
+        return EXACTAS + (e - 1) * SUB + ((v >> e) - SUB);
+    }
+
+    /** Mayor valor que cae en la cubeta i. */
+    private static int techo(int i) {
+        if (i < EXACTAS) return i;
+        int e = (i - EXACTAS) / SUB + 1;
+        long sub = (i - EXACTAS) % SUB + SUB;
+        return (int) Math.min(Integer.MAX_VALUE, ((sub + 1) << e) - 1);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d prom=%.2f p50=%d p95=%d p99=%d max=%d",
+                conteo, getPromedio(), percentil(50), percentil(95), percentil(99), getMaximo());
+    }
+}
@@ -0,0 +1,306 @@
+package p1.engine;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import p1.model.ProcessTable;
+
+/**
+ * Guarda un timeline en formato binario compacto para verlo después con
+ * {@link LectorTimeline}.
+ *
+ * Formato (little endian):
+ * - Cabecera: MAGIA, VERSION (int cada uno).
+ * - Bloques de hasta {@link #BLOQUE} segmentos; cada segmento son tres varints:
+ *   hueco desde el fin del anterior, duración y proceso (0 = CS, 1 = IDLE,
+ *   k + 2 = id k del diccionario). Casi siempre entra en 3 bytes.
+ * - Diccionario: cantidad de ids y cada id como largo + UTF-8.
+ * - Índice: por bloque, su posición (long), el fin del segmento anterior y el
+ *   fin de su último segmento (int), para ubicar cualquier instante sin
+ *   decodificar lo anterior.
+ * - Cola de {@link #COLA} bytes: posición del diccionario y del índice,
+ *   cantidad de segmentos (long), bloques, tiempo final y MAGIA (int).
+ *
+ * Los segmentos deben llegar en orden y sin solaparse, como los emite un
+ * planificador; los contiguos del mismo proceso se fusionan como en
+ * {@link Timeline}. Sirve de {@code Consumer<Segment>} para la simulación en
+ * streaming, así el timeline completo nunca está en memoria.
+ *
+ * Con una {@link ProcessTable} los segmentos se agregan por fila
+ * ({@link #agregar(int, int, int)}): el código es la fila y los ids se
+ * escriben una sola vez al cerrar, sin Strings ni hashing por segmento.
+ *
+ * {@link #puntoControl()} y {@link #reanudar} permiten seguir escribiendo el
+ * mismo archivo después de que el proceso murió a mitad de una corrida.
+ */
+public final class EscritorTimeline implements Consumer<Segment>, AutoCloseable {
+
+    static final int MAGIA = 0x4C543150;   // "P1TL"
+    static final int VERSION = 1;
+    static final int BLOQUE = 4096;
+    static final int COLA = 36;
+
+    private final FileChannel canal;
+    private final ProcessTable tabla;      // null = diccionario armado con los ids que llegan
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 16).order(ByteOrder.LITTLE_ENDIAN);
+    private long posicion;                 // bytes ya enviados al canal
+    private final Map<String, Integer> codigos = new HashMap<>();
+    private final List<String> diccionario = new ArrayList<>();
+    private long[] posBloques = new long[16];
+    private int[] baseBloques = new int[16];
+    private int[] finBloques = new int[16];
+    private int bloques;
+    private long segmentos;
+    private int finAnterior;
+    // Segmento pendiente, para fusionar el siguiente si continúa al mismo proceso
+    private int pendiente = -1;
+    private int pendienteInicio;
+    private int pendienteFin;
+    private boolean cerrado;
+
+    /** Lo que hace falta para seguir escribiendo desde un punto ya volcado a disco. */
+    public static final class Estado implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final long posicion;
+        private final List<String> diccionario;    // null si el escritor es por filas
+        private final long[] posBloques;
+        private final int[] baseBloques;
+        private final int[] finBloques;
+        private final long segmentos;
+        private final int finAnterior;
+        private final int pendiente;
+        private final int pendienteInicio;
+        private final int pendienteFin;
+
+        private Estado(EscritorTimeline e) {
+            posicion = e.posicion;
+            diccionario = e.tabla == null ? new ArrayList<>(e.diccionario) : null;
+            posBloques = Arrays.copyOf(e.posBloques, e.bloques);
+            baseBloques = Arrays.copyOf(e.baseBloques, e.bloques);
+            finBloques = Arrays.copyOf(e.finBloques, e.bloques);
+            segmentos = e.segmentos;
+            finAnterior = e.finAnterior;
+            pendiente = e.pendiente;
+            pendienteInicio = e.pendienteInicio;
+            pendienteFin = e.pendienteFin;
+        }
+    }
+
+    public EscritorTimeline(Path archivo) throws IOException {
+        this(archivo, (ProcessTable) null);
+    }
+
+    /** Escritor por filas de la tabla (ver {@link #agregar(int, int, int)}). */
+    public EscritorTimeline(Path archivo, ProcessTable tabla) throws IOException {
+        this.tabla = tabla;
+        canal = FileChannel.open(archivo, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        buffer.putInt(MAGIA).putInt(VERSION);
+    }
+
+    private EscritorTimeline(Path archivo, Estado estado, ProcessTable tabla) throws IOException {
+        if ((estado.diccionario == null) != (tabla != null)) {
+            throw new IllegalArgumentException(tabla == null ? "El estado es de un escritor por filas"
+                    : "El estado no es de un escritor por filas");
+        }
+        this.tabla = tabla;
+        canal = FileChannel.open(archivo, StandardOpenOption.WRITE);
+        if (canal.size() < estado.posicion) {
+            canal.close();
+            throw new IOException("El timeline es más corto que el punto de control");
+        }
+        // Lo escrito después del punto de control se descarta y se vuelve a generar
+        canal.truncate(estado.posicion);
+        canal.position(estado.posicion);
+        posicion = estado.posicion;
+        if (tabla == null) {
+            diccionario.addAll(estado.diccionario);
+            for (int k = 0; k < diccionario.size(); k++) codigos.put(diccionario.get(k), k + 2);
+        }
+        bloques = estado.posBloques.length;
+        posBloques = Arrays.copyOf(estado.posBloques, Math.max(16, bloques));
+        baseBloques = Arrays.copyOf(estado.baseBloques, Math.max(16, bloques));
+        finBloques = Arrays.copyOf(estado.finBloques, Math.max(16, bloques));
+        segmentos = estado.segmentos;
+        finAnterior = estado.finAnterior;
+        pendiente = estado.pendiente;
+        pendienteInicio = estado.pendienteInicio;
+        pendienteFin = estado.pendienteFin;
+    }
+
+    /** Sigue escribiendo {@code archivo} desde un {@link #puntoControl()} anterior. */
+    public static EscritorTimeline reanudar(Path archivo, Estado estado) throws IOException {
+        return new EscritorTimeline(archivo, estado, null);
+    }
+
+    /** Como {@link #reanudar(Path, Estado)} para un escritor por filas de la misma tabla. */
+    public static EscritorTimeline reanudar(Path archivo, Estado estado, ProcessTable tabla) throws IOException {
+        return new EscritorTimeline(archivo, estado, tabla);
+    }
+
+    /**
+     * Vuelca a disco lo escrito hasta ahora (con fsync) y devuelve el estado
+     * para {@link #reanudar}. El segmento pendiente de fusión viaja en el
+     * estado, no en el archivo.
+     */
+    public Estado puntoControl() throws IOException {
+        if (cerrado) throw new IllegalStateException("Escritor cerrado");
+        try {
+            vaciar();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        canal.force(false);
+        return new Estado(this);
+    }
+
+    /** Escribe el timeline completo en el archivo. */
+    public static void guardar(Path archivo, List<Segment> timeline) throws IOException {
+        try (EscritorTimeline escritor = new EscritorTimeline(archivo)) {
+            for (Segment s : timeline) escritor.agregar(s.getProcesoId(), s.getInicio(), s.getFin());
+        }
+    }
+
+    @Override
+    public void accept(Segment s) {
+        agregar(s.getProcesoId(), s.getInicio(), s.getFin());
+    }
+
+    /** Agrega [inicio, fin) del proceso ("IDLE" y "CS" tienen código propio). */
+    public void agregar(String procesoId, int inicio, int fin) {
+        agregarCodigo(codigo(procesoId), inicio, fin);
+    }
+
+    /** Agrega [inicio, fin) de la fila (o IDLE / CAMBIO); solo en un escritor por filas. */
+    public void agregar(int proceso, int inicio, int fin) {
+        if (tabla == null) throw new IllegalStateException("El escritor no es por filas");
+        if (proceso < SimulationSink.CAMBIO || proceso >= tabla.size()) {
+            throw new IllegalArgumentException("Fila fuera de rango: " + proceso);
+        }
+        agregarCodigo(proceso + 2, inicio, fin);
+    }
+
+    private void agregarCodigo(int codigo, int inicio, int fin) {
+        if (cerrado) throw new IllegalStateException("Escritor cerrado");
+        if (fin < inicio) throw new IllegalArgumentException("Segmento con fin < inicio");
+        if (pendiente >= 0) {
+            if (inicio < pendienteFin) throw new IllegalArgumentException("Segmentos desordenados o solapados");
+            if (codigo == pendiente && inicio == pendienteFin) {
+                pendienteFin = fin;
+                return;
+            }
+            escribir(pendiente, pendienteInicio, pendienteFin);
+        }
+        pendiente = codigo;
+        pendienteInicio = inicio;
+        pendienteFin = fin;
+    }
+
+    private int codigo(String procesoId) {
+        // Código - 2 da la fila especial: IDLE = -1, CAMBIO = -2
+        if ("IDLE".equals(procesoId)) return SimulationSink.IDLE + 2;
+        if ("CS".equals(procesoId)) return SimulationSink.CAMBIO + 2;
+        if (tabla != null) {
+            int fila = tabla.indiceDe(procesoId);
+            if (fila < 0) throw new IllegalArgumentException("ID desconocido: " + procesoId);
+            return fila + 2;
+        }
+        Integer c = codigos.get(procesoId);
+        if (c == null) {
+            c = diccionario.size() + 2;
+            codigos.put(procesoId, c);
+            diccionario.add(procesoId);
+        }
+        return c;
+    }
+
+    private void escribir(int codigo, int inicio, int fin) {
+        if (segmentos % BLOQUE == 0) {
+            if (bloques == posBloques.length) {
+                posBloques = Arrays.copyOf(posBloques, bloques * 2);
+                baseBloques = Arrays.copyOf(baseBloques, bloques * 2);
+                finBloques = Arrays.copyOf(finBloques, bloques * 2);
+            }
+            posBloques[bloques] = posicion + buffer.position();
+            baseBloques[bloques] = finAnterior;
+            bloques++;
+        }
+        if (buffer.remaining() < 15) vaciar();
+        varint(inicio - finAnterior);
+        varint(fin - inicio);
+        varint(codigo);
+        finBloques[bloques - 1] = fin;
+        finAnterior = fin;
+        segmentos++;
+    }
+
+    private void varint(int v) {
+        while ((v & ~0x7F) != 0) {
+            buffer.put((byte) (v | 0x80));
+            v >>>= 7;
+        }
+        buffer.put((byte) v);
+    }
+
+    private void vaciar() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) posicion += canal.write(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    /** Completa el diccionario, el índice y la cola; sin esto el archivo no se puede leer. */
+    @Override
+    public void close() throws IOException {
+        if (cerrado) return;
+        try {
+            if (pendiente >= 0) escribir(pendiente, pendienteInicio, pendienteFin);
+            long posDiccionario = posicion + buffer.position();
+            if (buffer.remaining() < 5) vaciar();
+            int ids = tabla != null ? tabla.size() : diccionario.size();
+            varint(ids);
+            for (int k = 0; k < ids; k++) {
+                String id = tabla != null ? tabla.id(k) : diccionario.get(k);
+                byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+                if (buffer.remaining() < 5) vaciar();
+                varint(bytes.length);
+                for (int i = 0; i < bytes.length; ) {
+                    if (!buffer.hasRemaining()) vaciar();
+                    int n = Math.min(bytes.length - i, buffer.remaining());
+                    buffer.put(bytes, i, n);
+                    i += n;
+                }
+            }
+            long posIndice = posicion + buffer.position();
+            for (int b = 0; b < bloques; b++) {
+                if (buffer.remaining() < 16) vaciar();
+                buffer.putLong(posBloques[b]).putInt(baseBloques[b]).putInt(finBloques[b]);
+            }
+            if (buffer.remaining() < COLA) vaciar();
+            buffer.putLong(posDiccionario).putLong(posIndice).putLong(segmentos)
+                    .putInt(bloques).putInt(finAnterior).putInt(MAGIA);
+            vaciar();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            cerrado = true;
+            canal.close();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package p1.engine;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Montículo binario mínimo indexado: cada elemento es una fila en [0, n) con
+ * una clave long, y se guarda su posición para poder cambiar la clave de una
+ * fila concreta (decrease-key) o quitarla en O(log n) sin recorrer el montículo.
+ */
+public class IndexedHeap implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final int[] heap;      // filas en orden de montículo
+    private final int[] posicion;  // posición de cada fila en heap, -1 si no está
+    private final long[] clave;
+    private int tamano;
+
+    public IndexedHeap(int n) {
+        heap = new int[Math.max(1, n)];
+        posicion = new int[Math.max(1, n)];
+        clave = new long[Math.max(1, n)];
+        Arrays.fill(posicion, -1);
+    }
+
+    public boolean isEmpty() { return tamano == 0; }
+    public int size() { return tamano; }
+    public boolean contains(int fila) { return posicion[fila] != -1; }
+    public long clave(int fila) { return clave[fila]; }
+
+    public void add(int fila, long k) {
+        if (contains(fila)) throw new IllegalArgumentException("Fila ya en el montículo: " + fila);
+        clave[fila] = k;
+        heap[tamano] = fila;
+        posicion[fila] = tamano;
+        subir(tamano++);
+    }
+
+    /** Fila con la menor clave, sin quitarla. */
+    public int peek() {
+        if (tamano == 0) throw new IllegalStateException("Montículo vacío");
+        return heap[0];
+    }
+
+    public long peekClave() {
+        return clave[peek()];
+    }
+
+    public int poll() {
+        int fila = peek();
+        quitarEn(0);
+        return fila;
+    }
+
+    public void remove(int fila) {
+        if (contains(fila)) quitarEn(posicion[fila]);
+    }
+
+    /** Baja la clave de una fila presente; la nueva clave debe ser <= la actual. */
+    public void decreaseKey(int fila, long k) {
+        if (k > clave[fila]) throw new IllegalArgumentException("La clave nueva es mayor");
+        clave[fila] = k;
+        subir(posicion[fila]);
+    }
+
+    private void quitarEn(int i) {
+        int fila = heap[i];
+        posicion[fila] = -1;
+        int ultimo = heap[--tamano];
+        if (i == tamano) return;
+        heap[i] = ultimo;
+        posicion[ultimo] = i;
+        subir(i);
+        bajar(posicion[ultimo]);
+    }
+
+    private void subir(int i) {
+        int fila = heap[i];
+        long k = clave[fila];
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (clave[heap[padre]] <= k) break;
+            heap[i] = heap[padre];
+            posicion[heap[i]] = i;
+            i = padre;
+        }
+        heap[i] = fila;
+        posicion[fila] = i;
+    }
+
+    private void bajar(int i) {
+        int fila = heap[i];
+        long k = clave[fila];
+        int mitad = tamano >>> 1;
+        while (i < mitad) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < tamano && clave[heap[hijo + 1]] < clave[heap[hijo]]) hijo++;
+            if (k <= clave[heap[hijo]]) break;
+            heap[i] = heap[hijo];
+            posicion[heap[i]] = i;
+            i = hijo;
+        }
+        heap[i] = fila;
+        posicion[fila] = i;
+    }
+}
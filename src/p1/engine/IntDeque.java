@@ -0,0 +1,86 @@
+package p1.engine;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Cola doble de int sobre un buffer circular que crece al llenarse.
+ * Sustituye a {@code ArrayDeque<Integer>} en las colas de listos sin boxing.
+ */
+public class IntDeque implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int[] datos;
+    private int cabeza;
+    private int tamano;
+
+    public IntDeque() {
+        this(16);
+    }
+
+    public IntDeque(int capacidad) {
+        this.datos = new int[Math.max(1, capacidad)];
+    }
+
+    public boolean isEmpty() { return tamano == 0; }
+    public int size() { return tamano; }
+
+    public void addLast(int v) {
+        if (tamano == datos.length) crecer();
+        datos[(cabeza + tamano++) % datos.length] = v;
+    }
+
+    public void addFirst(int v) {
+        if (tamano == datos.length) crecer();
+        cabeza = (cabeza - 1 + datos.length) % datos.length;
+        datos[cabeza] = v;
+        tamano++;
+    }
+
+    public int pollFirst() {
+        if (tamano == 0) throw new IllegalStateException("Cola vacía");
+        int v = datos[cabeza];
+        cabeza = (cabeza + 1) % datos.length;
+        tamano--;
+        return v;
+    }
+
+    public int pollLast() {
+        if (tamano == 0) throw new IllegalStateException("Cola vacía");
+        return datos[(cabeza + --tamano) % datos.length];
+    }
+
+    public int peekFirst() {
+        if (tamano == 0) throw new IllegalStateException("Cola vacía");
+        return datos[cabeza];
+    }
+
+    /** Elemento i contando desde la cabeza. */
+    public int get(int i) {
+        return datos[(cabeza + i) % datos.length];
+    }
+
+    public void clear() {
+        cabeza = 0;
+        tamano = 0;
+    }
+
+    private void crecer() {
+        int[] nuevo = new int[datos.length * 2];
+        for (int i = 0; i < tamano; i++) nuevo[i] = datos[(cabeza + i) % datos.length];
+        datos = nuevo;
+        cabeza = 0;
+    }
+
+    /** Copia del contenido en orden de cabeza a cola. */
+    public int[] toArray() {
+        int[] r = new int[tamano];
+        for (int i = 0; i < tamano; i++) r[i] = get(i);
+        return r;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(toArray());
+    }
+}
@@ -0,0 +1,234 @@
+package p1.engine;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lee un timeline guardado con {@link EscritorTimeline}.
+ * El archivo se mapea en memoria y solo se cargan el índice de bloques y la
+ * posición de cada id; un rango de tiempo se ubica con búsqueda binaria y se
+ * decodifican únicamente sus bloques, así se puede recorrer una parte de una
+ * corrida de cientos de millones de segmentos al instante. Para dibujar un
+ * rango grande está {@link #muestrear}, que decodifica a lo sumo un bloque
+ * por columna de píxeles en lugar de todos los segmentos del rango.
+ */
+public final class LectorTimeline {
+
+    /** Recibe los segmentos de un rango; proceso es el código del id o IDLE / CAMBIO. */
+    public interface Visitante {
+        void segmento(int proceso, int inicio, int fin);
+    }
+
+    private static final int BITS_VENTANA = 30;
+    /** Un bloque ocupa a lo sumo 15 * BLOQUE bytes, así que entra en el sobrante de su ventana. */
+    private static final int SOBRANTE = 1 << 16;
+
+    private final MappedByteBuffer[] ventanas;
+    private final long segmentos;
+    private final int tiempoFinal;
+    private final long[] posBloques;
+    private final int[] baseBloques;
+    private final int[] finBloques;
+    private final long[] posIds;
+    private final int[] largoIds;
+    private final String[] ids;            // decodificados a pedido
+
+    private LectorTimeline(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            if (tamano < 8 + EscritorTimeline.COLA) throw new IOException("No es un archivo de timeline");
+            ventanas = new MappedByteBuffer[(int) ((tamano + (1L << BITS_VENTANA) - 1) >>> BITS_VENTANA)];
+            for (int k = 0; k < ventanas.length; k++) {
+                long inicio = (long) k << BITS_VENTANA;
+                ventanas[k] = canal.map(FileChannel.MapMode.READ_ONLY, inicio,
+                        Math.min(tamano - inicio, (1L << BITS_VENTANA) + SOBRANTE));
+                ventanas[k].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            long cola = tamano - EscritorTimeline.COLA;
+            if (entero(0) != EscritorTimeline.MAGIA || entero(cola + 32) != EscritorTimeline.MAGIA) {
+                throw new IOException("No es un archivo de timeline (o quedó incompleto)");
+            }
+            if (entero(4) != EscritorTimeline.VERSION) throw new IOException("Versión de timeline no soportada");
+            long posDiccionario = largo(cola);
+            long posIndice = largo(cola + 8);
+            segmentos = largo(cola + 16);
+            int bloques = entero(cola + 24);
+            tiempoFinal = entero(cola + 28);
+
+            posBloques = new long[bloques];
+            baseBloques = new int[bloques];
+            finBloques = new int[bloques];
+            for (int b = 0; b < bloques; b++) {
+                long p = posIndice + 16L * b;
+                posBloques[b] = largo(p);
+                baseBloques[b] = entero(p + 8);
+                finBloques[b] = entero(p + 12);
+            }
+
+            long[] p = {posDiccionario};
+            int n = varint(p);
+            posIds = new long[n];
+            largoIds = new int[n];
+            ids = new String[n];
+            for (int k = 0; k < n; k++) {
+                largoIds[k] = varint(p);
+                posIds[k] = p[0];
+                p[0] += largoIds[k];
+            }
+        }
+    }
+
+    public static LectorTimeline abrir(Path archivo) throws IOException {
+        return new LectorTimeline(archivo);
+    }
+
+    public long size() { return segmentos; }
+    public int getTiempoFinal() { return tiempoFinal; }
+    public int getCantidadIds() { return ids.length; }
+
+    /** Id del código recibido por el {@link Visitante} ("IDLE" / "CS" para los especiales). */
+    public String etiqueta(int proceso) {
+        if (proceso == SimulationSink.IDLE) return "IDLE";
+        if (proceso == SimulationSink.CAMBIO) return "CS";
+        String id = ids[proceso];
+        if (id == null) {
+            byte[] b = new byte[largoIds[proceso]];
+            for (int i = 0; i < b.length; i++) b[i] = byteEn(posIds[proceso] + i);
+            id = ids[proceso] = new String(b, StandardCharsets.UTF_8);
+        }
+        return id;
+    }
+
+    /**
+     * Visita en orden los segmentos que se solapan con [desde, hasta), sin
+     * recortarlos y sin crear objetos.
+     */
+    public void recorrer(int desde, int hasta, Visitante visitante) {
+        // Los fines no decrecen: primer bloque que no termina antes de desde
+        int lo = 0, hi = finBloques.length;
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (finBloques[m] >= desde) hi = m; else lo = m + 1;
+        }
+        for (int b = lo; b < finBloques.length; b++) {
+            int k = (int) (posBloques[b] >>> BITS_VENTANA);
+            MappedByteBuffer v = ventanas[k];
+            int i = (int) (posBloques[b] - ((long) k << BITS_VENTANA));
+            int fin = baseBloques[b];
+            long cantidad = Math.min(EscritorTimeline.BLOQUE, segmentos - (long) b * EscritorTimeline.BLOQUE);
+            for (int s = 0; s < cantidad; s++) {
+                // Tres varints: hueco desde el fin anterior, duración y código del proceso
+                int x = 0, r, desplazamiento = 0;
+                do { r = v.get(i++); x |= (r & 0x7F) << desplazamiento; desplazamiento += 7; } while (r < 0);
+                int inicio = fin + x;
+                x = 0; desplazamiento = 0;
+                do { r = v.get(i++); x |= (r & 0x7F) << desplazamiento; desplazamiento += 7; } while (r < 0);
+                fin = inicio + x;
+                x = 0; desplazamiento = 0;
+                do { r = v.get(i++); x |= (r & 0x7F) << desplazamiento; desplazamiento += 7; } while (r < 0);
+                if (inicio >= hasta) return;
+                if (fin > desde || inicio >= desde) visitante.segmento(x - 2, inicio, fin);
+            }
+        }
+    }
+
+    /**
+     * Como {@link #recorrer} pero con [desde, hasta) dividido en
+     * {@code columnas} partes iguales: de cada una visita solo el segmento que
+     * cubre su comienzo (o el primero que empieza dentro), y uno que abarca
+     * varias columnas se visita una sola vez. Cuando hay muchos segmentos por
+     * columna se salta directo, con búsqueda binaria, al bloque de la columna
+     * siguiente, así el costo queda acotado por columnas × (log bloques +
+     * {@link EscritorTimeline#BLOQUE}) sin importar cuántos segmentos tenga el
+     * rango; con pocos por columna visita los mismos que {@link #recorrer}.
+     */
+    public void muestrear(int desde, int hasta, int columnas, Visitante visitante) {
+        if (columnas <= 0) throw new IllegalArgumentException("Columnas debe ser > 0");
+        if (hasta <= desde) return;
+        double paso = (double) (hasta - desde) / columnas;
+        long objetivo = desde;
+        int b = primerBloqueQueTermina(objetivo, 0);
+        while (b < finBloques.length) {
+            int k = (int) (posBloques[b] >>> BITS_VENTANA);
+            MappedByteBuffer v = ventanas[k];
+            int i = (int) (posBloques[b] - ((long) k << BITS_VENTANA));
+            int fin = baseBloques[b];
+            long cantidad = Math.min(EscritorTimeline.BLOQUE, segmentos - (long) b * EscritorTimeline.BLOQUE);
+            int siguiente = b + 1;
+            for (int s = 0; s < cantidad; s++) {
+                int x = 0, r, desplazamiento = 0;
+                do { r = v.get(i++); x |= (r & 0x7F) << desplazamiento; desplazamiento += 7; } while (r < 0);
+                int inicio = fin + x;
+                x = 0; desplazamiento = 0;
+                do { r = v.get(i++); x |= (r & 0x7F) << desplazamiento; desplazamiento += 7; } while (r < 0);
+                fin = inicio + x;
+                x = 0; desplazamiento = 0;
+                do { r = v.get(i++); x |= (r & 0x7F) << desplazamiento; desplazamiento += 7; } while (r < 0);
+                if (inicio >= hasta) return;
+                if (fin <= objetivo) continue;
+                visitante.segmento(x - 2, inicio, fin);
+
+                // Comienzo de la primera columna que este segmento no cubre
+                long columna = (long) ((fin - desde - 1) / paso) + 1;
+                while (columna > 0 && desde + (long) Math.ceil((columna - 1) * paso) >= fin) columna--;
+                while (desde + (long) Math.ceil(columna * paso) < fin) columna++;
+                objetivo = desde + (long) Math.ceil(columna * paso);
+                if (objetivo >= hasta) return;
+                if (objetivo >= finBloques[b]) {
+                    siguiente = primerBloqueQueTermina(objetivo, b + 1);
+                    break;
+                }
+            }
+            b = siguiente;
+        }
+    }
+
+    /** Primer bloque desde {@code desde} con algún segmento que termina después de t (los fines no decrecen). */
+    private int primerBloqueQueTermina(long t, int desde) {
+        int lo = desde, hi = finBloques.length;
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (finBloques[m] > t) hi = m; else lo = m + 1;
+        }
+        return lo;
+    }
+
+    /** Segmentos que se solapan con [desde, hasta), listos para {@link p1.ui.GanttPanel}. */
+    public List<Segment> rango(int desde, int hasta) {
+        List<Segment> lista = new ArrayList<>();
+        recorrer(desde, hasta, (proceso, inicio, fin) -> lista.add(new Segment(etiqueta(proceso), inicio, fin)));
+        return lista;
+    }
+
+    private int varint(long[] p) {
+        int x = 0, desplazamiento = 0, r;
+        do {
+            r = byteEn(p[0]++);
+            x |= (r & 0x7F) << desplazamiento;
+            desplazamiento += 7;
+        } while (r < 0);
+        return x;
+    }
+
+    private byte byteEn(long p) {
+        int k = (int) (p >>> BITS_VENTANA);
+        return ventanas[k].get((int) (p - ((long) k << BITS_VENTANA)));
+    }
+
+    private int entero(long p) {
+        int k = (int) (p >>> BITS_VENTANA);
+        return ventanas[k].getInt((int) (p - ((long) k << BITS_VENTANA)));
+    }
+
+    private long largo(long p) {
+        int k = (int) (p >>> BITS_VENTANA);
+        return ventanas[k].getLong((int) (p - ((long) k << BITS_VENTANA)));
+    }
+}
@@ -0,0 +1,73 @@
+package p1.engine;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Montículo binario mínimo de valores {@code long} sin boxing.
+ * Los planificadores empaquetan la clave de orden en los 32 bits altos y el
+ * índice del proceso en los 32 bits bajos, así el orden natural del long es
+ * (clave, índice) y el desempate queda determinado.
+ */
+public class LongHeap implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long[] datos;
+    private int tamano;
+
+    public LongHeap() {
+        this(16);
+    }
+
+    public LongHeap(int capacidad) {
+        this.datos = new long[Math.max(1, capacidad)];
+    }
+
+    /** Empaqueta (clave, indice) en un long ordenable; ambos deben ser >= 0. */
+    public static long empaquetar(int clave, int indice) {
+        return ((long) clave << 32) | (indice & 0xFFFFFFFFL);
+    }
+
+    public static int clave(long v) { return (int) (v >>> 32); }
+    public static int indice(long v) { return (int) v; }
+
+    public boolean isEmpty() { return tamano == 0; }
+    public int size() { return tamano; }
+
+    public long peek() {
+        if (tamano == 0) throw new IllegalStateException("Montículo vacío");
+        return datos[0];
+    }
+
+    public void add(long v) {
+        if (tamano == datos.length) datos = Arrays.copyOf(datos, tamano * 2);
+        int i = tamano++;
+        // Subir
+        while (i > 0) {
+            int padre = (i - 1) >>> 1;
+            if (datos[padre] <= v) break;
+            datos[i] = datos[padre];
+            i = padre;
+        }
+        datos[i] = v;
+    }
+
+    public long poll() {
+        long raiz = peek();
+        long ultimo = datos[--tamano];
+        int i = 0;
+        int mitad = tamano >>> 1;
+        // Bajar
+        while (i < mitad) {
+            int hijo = 2 * i + 1;
+            if (hijo + 1 < tamano && datos[hijo + 1] < datos[hijo]) hijo++;
+            if (ultimo <= datos[hijo]) break;
+            datos[i] = datos[hijo];
+            i = hijo;
+        }
+        datos[i] = ultimo;
+        return raiz;
+    }
+
+    public void clear() { tamano = 0; }
+}
@@ -0,0 +1,39 @@
+package p1.engine;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Agregado de métricas de todos los procesos terminados: conteo, promedio,
+ * máximo y percentiles de espera, respuesta y turnaround en memoria fija.
+ * Los planificadores lo alimentan conforme terminan los procesos, así que
+ * también está disponible en modo streaming sin guardar un {@link Metrics}
+ * por proceso.
+ */
+public class MetricsSummary implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final Distribucion espera = new Distribucion();
+    private final Distribucion respuesta = new Distribucion();
+    private final Distribucion turnaround = new Distribucion();
+
+    /** Construye el resumen a partir de métricas ya materializadas. */
+    public static MetricsSummary de(Map<String, Metrics> metricas) {
+        MetricsSummary s = new MetricsSummary();
+        for (Metrics m : metricas.values()) {
+            s.registrar(m.espera, m.respuesta, m.turnaround);
+        }
+        return s;
+    }
+
+    public void registrar(int espera, int respuesta, int turnaround) {
+        this.espera.registrar(espera);
+        this.respuesta.registrar(respuesta);
+        this.turnaround.registrar(turnaround);
+    }
+
+    public long getConteo() { return turnaround.getConteo(); }
+    public Distribucion getEspera() { return espera; }
+    public Distribucion getRespuesta() { return respuesta; }
+    public Distribucion getTurnaround() { return turnaround; }
+}
@@ -0,0 +1,90 @@
+package p1.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de una simulación con varios núcleos: un timeline por núcleo,
+ * tiempo ocupado y utilización por núcleo, y número de migraciones.
+ * {@link #getTimeline()} junta los segmentos de todos los núcleos; el uso de
+ * CPU, los cambios de contexto y la sobrecarga también son de todos juntos.
+ */
+public class MultiCoreResult extends SimulationResult {
+    private final List<List<Segment>> timelines;
+    private final long[] ocupado;
+    private final int migraciones;
+    private List<Segment> fusionado;
+
+    public MultiCoreResult(List<List<Segment>> timelines, Map<String, Metrics> metricsPorProceso, int tiempoFinal,
+                           MetricsSummary resumen, long[] ocupado, int migraciones) {
+        super(Collections.emptyList(), metricsPorProceso, tiempoFinal, resumen, usoTotal(timelines));
+        this.timelines = timelines;
+        this.ocupado = ocupado;
+        this.migraciones = migraciones;
+    }
+
+    private static UsoCpu usoTotal(List<List<Segment>> timelines) {
+        UsoCpu total = new UsoCpu();
+        for (List<Segment> t : timelines) total.sumar(UsoCpu.de(t));
+        return total;
+    }
+
+    /**
+     * Segmentos de todos los núcleos ordenados por inicio (a igual inicio, por
+     * núcleo), para quien solo mira qué procesos corrieron y cuándo. Se
+     * solapan en el tiempo, así que no sirve como timeline de una sola CPU:
+     * para dibujarlo o guardarlo con {@link EscritorTimeline} (que rechaza
+     * segmentos solapados) se usa {@link #getTimeline(int)} por núcleo.
+     */
+    @Override
+    public List<Segment> getTimeline() {
+        if (fusionado == null) {
+            List<Segment> todos = new ArrayList<>();
+            for (List<Segment> t : timelines) todos.addAll(t);
+            // Orden estable: a igual inicio queda el núcleo de menor número primero
+            todos.sort(Comparator.comparingInt(Segment::getInicio));
+            fusionado = Collections.unmodifiableList(todos);
+        }
+        return fusionado;
+    }
+
+    public int getNucleos() { return timelines.size(); }
+    public List<List<Segment>> getTimelines() { return timelines; }
+    public List<Segment> getTimeline(int nucleo) { return timelines.get(nucleo); }
+
+    /** Tiempo que el núcleo pasó ejecutando procesos (sin ocio ni migraciones). */
+    public long getOcupado(int nucleo) { return ocupado[nucleo]; }
+    public int getMigraciones() { return migraciones; }
+
+    /** Fracción del tiempo final en que el núcleo estuvo ejecutando procesos. */
+    public double getUtilizacion(int nucleo) {
+        return getTiempoFinal() == 0 ? 0 : (double) ocupado[nucleo] / getTiempoFinal();
+    }
+
+    /** Fracción de la capacidad de todos los núcleos (tiempo final × núcleos) usada en procesos. */
+    @Override
+    public double getUtilizacionCpu() {
+        return fraccion(getUsoCpu().getOcupado());
+    }
+
+    /** Fracción de la capacidad de todos los núcleos gastada en cambios de contexto. */
+    @Override
+    public double getFraccionSobrecarga() {
+        return fraccion(getUsoCpu().getEnCambios());
+    }
+
+    private double fraccion(long tiempo) {
+        return getTiempoFinal() == 0 ? 0 : (double) tiempo / ((long) getTiempoFinal() * timelines.size());
+    }
+
+    /** Utilización promedio de todos los núcleos. */
+    public double getUtilizacionPromedio() {
+        if (getTiempoFinal() == 0) return 0;
+        long total = 0;
+        for (long o : ocupado) total += o;
+        return (double) total / ((long) getTiempoFinal() * ocupado.length);
+    }
+}
@@ -0,0 +1,420 @@
+package p1.engine;
+
+import java.io.Serializable;
+import p1.model.ProcessTable;
+
+/**
+ * Núcleo de simulación por eventos discretos para una CPU y un dispositivo de
+ * E/S, compartido por los planificadores: el reloj salta de evento en evento
+ * del {@link CalendarioEventos} (llegada, fin de E/S, fin de quantum, fin de
+ * ráfaga, temporizador) y la decisión de a quién despachar queda en una
+ * {@link Politica}.
+ *
+ * El núcleo lleva restantes, bloqueos, la cola FIFO del dispositivo, los
+ * segmentos IDLE y las métricas, y los emite todos al {@link SimulationSink}.
+ * La política recibe cada tramo de CPU usado ({@link Politica#cobrar}) y
+ * puede programar temporizadores propios en el mismo calendario con la
+ * {@link Agenda}: con eso alcanza para envejecimiento, bajar de nivel,
+ * vruntime o sorteos por quantum (ver {@link p1.scheduler.Prioridad}). Un
+ * {@link Observador} opcional ve cada evento atendido, cada despacho y cada
+ * expropiación, así la instrumentación queda en un solo lugar.
+ *
+ * Todo el estado (política incluida) es serializable: entre dos llamadas a
+ * {@link #avanzar} se puede guardar y retomar con la misma tabla.
+ */
+public final class NucleoEventos implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Motivo de {@link Politica#listo}: volvió a la cola por una expropiación;
+     * también es el tipo que recibe el {@link Observador} en ese momento.
+     */
+    public static final int EXPROPIADO = 5;
+    /** Tipo que recibe el {@link Observador} al poner un proceso en la CPU. */
+    public static final int DESPACHO = 6;
+
+    /**
+     * Cola de listos. Los métodos se llaman en orden determinista, así dos
+     * corridas de la misma tabla producen el mismo timeline.
+     */
+    public interface Politica extends Serializable {
+        /**
+         * Se llama antes que cualquier otro método, al crear el núcleo y en
+         * {@link #continuarCon} con la tabla nueva (la política conserva lo
+         * que ya tenía de las filas que llegaron). La agenda es la del núcleo
+         * que la va a usar.
+         */
+        default void iniciar(ProcessTable tabla, Agenda agenda) {
+        }
+
+        /**
+         * La fila se volvió lista con {@code restante} de su ráfaga de CPU.
+         * {@code motivo}: {@link CalendarioEventos#LLEGADA}, {@link CalendarioEventos#FIN_ES},
+         * {@link CalendarioEventos#FIN_QUANTUM} o {@link #EXPROPIADO}.
+         */
+        void listo(int fila, int restante, int motivo);
+
+        boolean isEmpty();
+
+        /** Quita y devuelve la fila a despachar. */
+        int siguiente();
+
+        /** Tiempo máximo de CPU antes de volver a la cola (MAX_VALUE = hasta el fin de la ráfaga). */
+        default int quantum(int fila) {
+            return Integer.MAX_VALUE;
+        }
+
+        /** ¿La fila que se acaba de volver lista saca de la CPU a {@code actual}, al que le queda {@code queda}? */
+        default boolean expropia(int fila, int restante, int actual, int queda) {
+            return false;
+        }
+
+        /**
+         * La fila dejó la CPU después de usarla {@code usado} unidades (fin de
+         * quantum, de ráfaga o expropiación); se llama antes de devolverla con
+         * {@link #listo}.
+         */
+        default void cobrar(int fila, int usado) {
+        }
+
+        /**
+         * Venció un temporizador programado con {@link Agenda#programar}; los
+         * que quedaron obsoletos los descarta la política. Devuelve true para
+         * sacar de la CPU a {@code actual} (-1 si está libre), al que le queda
+         * {@code queda}; vuelve con {@link #listo} y motivo {@link #EXPROPIADO}.
+         */
+        default boolean temporizador(int fila, int actual, int queda) {
+            return false;
+        }
+    }
+
+    /** Lo que una {@link Politica} le puede pedir al núcleo. */
+    public interface Agenda {
+        /** Reloj del núcleo. */
+        int getTiempo();
+
+        /**
+         * Programa un {@link CalendarioEventos#TEMPORIZADOR} para la fila (no
+         * antes del reloj); al vencer se entrega a {@link Politica#temporizador}.
+         */
+        void programar(int tiempo, int fila);
+    }
+
+    /** Ve los eventos que el núcleo atiende (los obsoletos de CPU no), los despachos y las expropiaciones. */
+    public interface Observador {
+        void evento(int tipo, int fila, int tiempo);
+    }
+
+    /** La agenda del núcleo; se serializa con él. */
+    private final class AgendaNucleo implements Agenda, Serializable {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public int getTiempo() { return tiempo; }
+
+        @Override
+        public void programar(int t, int fila) {
+            if (t < tiempo) throw new IllegalArgumentException("Temporizador antes del reloj: " + t);
+            if (fila < 0 || fila >= n) throw new IllegalArgumentException("Fila fuera de rango: " + fila);
+            calendario.programar(t, CalendarioEventos.TEMPORIZADOR, fila);
+        }
+    }
+
+    /** FIFO; con quantum finito es RR y el que agota el quantum vuelve al final. */
+    public static Politica fifo(int quantum) {
+        if (quantum <= 0) throw new IllegalArgumentException("Quantum debe ser > 0");
+        return new Fifo(quantum);
+    }
+
+    /**
+     * Menor ráfaga de CPU restante primero, desempate por fila (SJF); si es
+     * expropiativa, un listo que necesita estrictamente menos saca al actual (SRTF).
+     */
+    public static Politica menorRestante(boolean expropiativa) {
+        return new MenorRestante(expropiativa);
+    }
+
+    private static final class Fifo implements Politica {
+        private static final long serialVersionUID = 1L;
+
+        private final int quantum;
+        private final IntDeque cola = new IntDeque();
+
+        Fifo(int quantum) { this.quantum = quantum; }
+
+        @Override public void listo(int fila, int restante, int motivo) { cola.addLast(fila); }
+        @Override public boolean isEmpty() { return cola.isEmpty(); }
+        @Override public int siguiente() { return cola.pollFirst(); }
+        @Override public int quantum(int fila) { return quantum; }
+    }
+
+    private static final class MenorRestante implements Politica {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean expropiativa;
+        private final LongHeap listos = new LongHeap();
+
+        MenorRestante(boolean expropiativa) { this.expropiativa = expropiativa; }
+
+        @Override public void listo(int fila, int restante, int motivo) { listos.add(LongHeap.empaquetar(restante, fila)); }
+        @Override public boolean isEmpty() { return listos.isEmpty(); }
+        @Override public int siguiente() { return LongHeap.indice(listos.poll()); }
+
+        @Override
+        public boolean expropia(int fila, int restante, int actual, int queda) {
+            return expropiativa && LongHeap.empaquetar(restante, fila) < LongHeap.empaquetar(queda, actual);
+        }
+    }
+
+    private final Politica politica;
+    private final int n;
+    private final int[] restante;          // de la ráfaga de CPU en curso
+    private final int[] inicio;
+    private final int[] rafagaActual;      // índice k de la ráfaga en curso; null sin E/S
+    private final int[] bloqueadoDesde;
+    private final long[] esperaES;
+    private final IntDeque colaES = new IntDeque();
+    private final CalendarioEventos calendario = new CalendarioEventos();
+    private final AgendaNucleo agenda = new AgendaNucleo();
+    private transient long[] orden;        // se recalcula de la tabla al retomar
+    private transient Observador observador;
+    private int cursor;
+    private int actual = -1;
+    private int desde;                     // inicio del tramo en CPU de actual
+    private int finCpu = -1;               // tiempo del evento de CPU vigente
+    private int cpuLibre;                  // desde cuándo está ociosa la CPU
+    private int dispositivo = -1;
+    private int tiempo;
+    private long ocupadoES;
+    private long sumaEsperaES;
+    private int conES;                     // terminados que hicieron E/S
+    private int finalizados;
+    private boolean terminado;
+
+    /** Sin E/S no guarda los arreglos de E/S (8 bytes por fila en lugar de 24). */
+    public NucleoEventos(ProcessTable tabla, Politica politica) {
+        this.politica = politica;
+        this.n = tabla.size();
+        this.restante = new int[n];
+        this.inicio = new int[n];
+        boolean conES = tabla.tieneES();
+        this.rafagaActual = conES ? new int[n] : null;
+        this.bloqueadoDesde = conES ? new int[n] : null;
+        this.esperaES = conES ? new long[n] : null;
+        for (int i = 0; i < n; i++) {
+            restante[i] = tabla.rafaga(i, 0);
+            inicio[i] = -1;
+        }
+        orden = tabla.ordenPorLlegada();
+        if (n > 0) {
+            calendario.programar(LongHeap.clave(orden[0]), CalendarioEventos.LLEGADA, LongHeap.indice(orden[0]));
+            cursor = 1;
+        }
+        politica.iniciar(tabla, agenda);
+    }
+
+    /**
+     * Copia de este estado para seguir con otra tabla que solo difiere en
+     * filas que llegan después de {@link #getTiempo()}: las que llegan antes
+     * o en ese instante deben estar en la misma fila con la misma llegada y
+     * las mismas ráfagas (ids, prioridades y plazos no importan, salvo que la
+     * política los lea); las filas nuevas van al final. Vale para el estado inicial o uno que
+     * {@link #avanzar} dejó a mitad de camino, no para uno terminado. El
+     * receptor no se debe seguir usando: comparten la política.
+     */
+    public NucleoEventos continuarCon(ProcessTable tabla) {
+        if (terminado) throw new IllegalStateException("La simulación ya terminó");
+        return new NucleoEventos(this, tabla);
+    }
+
+    private NucleoEventos(NucleoEventos previo, ProcessTable tabla) {
+        this.politica = previo.politica;
+        this.n = tabla.size();
+        this.restante = new int[n];
+        this.inicio = new int[n];
+        boolean conES = tabla.tieneES();
+        this.rafagaActual = conES ? new int[n] : null;
+        this.bloqueadoDesde = conES ? new int[n] : null;
+        this.esperaES = conES ? new long[n] : null;
+        this.orden = tabla.ordenPorLlegada();
+        // Los eventos pendientes siguen igual salvo la próxima llegada, que sale de la tabla nueva
+        int llegadas = previo.cursor;
+        CalendarioEventos pendientes = previo.calendario;
+        while (!pendientes.isEmpty()) {
+            long ev = pendientes.poll();
+            if (CalendarioEventos.tipo(ev) == CalendarioEventos.LLEGADA) {
+                llegadas--;
+            } else {
+                calendario.programar(CalendarioEventos.tiempo(ev), CalendarioEventos.tipo(ev), CalendarioEventos.fila(ev));
+            }
+        }
+        // Las llegadas ya atendidas son las mismas primeras del orden nuevo
+        boolean[] llegaron = new boolean[n];
+        for (int k = 0; k < llegadas; k++) llegaron[LongHeap.indice(orden[k])] = true;
+        cursor = llegadas;
+        if (cursor < n) {
+            calendario.programar(LongHeap.clave(orden[cursor]), CalendarioEventos.LLEGADA, LongHeap.indice(orden[cursor]));
+            cursor++;
+        }
+        for (int i = 0; i < n; i++) {
+            boolean llego = llegaron[i];
+            restante[i] = llego ? previo.restante[i] : tabla.rafaga(i, 0);
+            inicio[i] = llego ? previo.inicio[i] : -1;
+            if (llego && conES && previo.rafagaActual != null) {
+                rafagaActual[i] = previo.rafagaActual[i];
+                bloqueadoDesde[i] = previo.bloqueadoDesde[i];
+                esperaES[i] = previo.esperaES[i];
+            }
+        }
+        for (int k = 0; k < previo.colaES.size(); k++) colaES.addLast(previo.colaES.get(k));
+        this.actual = previo.actual;
+        this.desde = previo.desde;
+        this.finCpu = previo.finCpu;
+        this.cpuLibre = previo.cpuLibre;
+        this.dispositivo = previo.dispositivo;
+        this.tiempo = previo.tiempo;
+        this.ocupadoES = previo.ocupadoES;
+        this.sumaEsperaES = previo.sumaEsperaES;
+        this.conES = previo.conES;
+        this.finalizados = previo.finalizados;
+        politica.iniciar(tabla, agenda);
+    }
+
+    /** Reloj: todos los eventos anteriores a este instante ya se atendieron. */
+    public int getTiempo() { return tiempo; }
+    public boolean isTerminado() { return terminado; }
+    public int size() { return n; }
+    public Politica getPolitica() { return politica; }
+
+    /** No se serializa: después de retomar hay que volver a ponerlo. */
+    public void setObservador(Observador observador) { this.observador = observador; }
+
+    /**
+     * Atiende los eventos anteriores a {@code hasta}, deteniéndose antes si ya
+     * atendió {@code maxEventos} y cambia el instante (nunca a mitad de un
+     * instante, así el estado siempre queda listo para guardarse). Devuelve
+     * true cuando la simulación terminó.
+     */
+    public boolean avanzar(ProcessTable tabla, SimulationSink sink, long hasta, long maxEventos) {
+        if (n != tabla.size()) throw new IllegalArgumentException("El estado es de otra tabla");
+        if (terminado) return true;
+        if (orden == null) orden = tabla.ordenPorLlegada();
+        long atendidos = 0;
+
+        // Al terminar el último pueden quedar temporizadores de la política: no mueven el reloj
+        while (!calendario.isEmpty() && finalizados < n) {
+            int proximo = CalendarioEventos.tiempo(calendario.peek());
+            if (proximo >= hasta || (atendidos >= maxEventos && proximo > tiempo)) return false;
+            long ev = calendario.poll();
+            atendidos++;
+            tiempo = proximo;
+            int tipo = CalendarioEventos.tipo(ev);
+            int f = CalendarioEventos.fila(ev);
+            int listo = -1;
+            boolean vigente = true;
+            boolean desalojar = false;
+
+            switch (tipo) {
+                case CalendarioEventos.LLEGADA:
+                    listo = f;
+                    if (cursor < n) {
+                        calendario.programar(LongHeap.clave(orden[cursor]), CalendarioEventos.LLEGADA,
+                                LongHeap.indice(orden[cursor]));
+                        cursor++;
+                    }
+                    break;
+                case CalendarioEventos.TEMPORIZADOR:
+                    desalojar = politica.temporizador(f, actual, queda());
+                    break;
+                case CalendarioEventos.FIN_ES:
+                    sink.entradaSalida(f, tiempo - tabla.rafaga(f, rafagaActual[f]), tiempo);
+                    ocupadoES += tabla.rafaga(f, rafagaActual[f]);
+                    esperaES[f] += tiempo - bloqueadoDesde[f];
+                    rafagaActual[f]++;
+                    restante[f] = tabla.rafaga(f, rafagaActual[f]);
+                    dispositivo = -1;
+                    listo = f;
+                    break;
+                default:
+                    // Fin de quantum o de ráfaga; se descarta si quedó obsoleto por una expropiación
+                    if (f != actual || tiempo != finCpu) {
+                        vigente = false;
+                        break;
+                    }
+                    sink.segmento(actual, desde, tiempo);
+                    restante[actual] -= tiempo - desde;
+                    politica.cobrar(f, tiempo - desde);
+                    actual = -1;
+                    cpuLibre = tiempo;
+                    if (restante[f] > 0) {
+                        listo = f;                       // agotó el quantum
+                    } else if (rafagaActual != null && rafagaActual[f] + 1 < tabla.numRafagas(f)) {
+                        rafagaActual[f]++;               // se bloquea por E/S
+                        bloqueadoDesde[f] = tiempo;
+                        colaES.addLast(f);
+                    } else {
+                        finalizados++;
+                        long espera = esperaES != null ? esperaES[f] : 0;
+                        int turnaround = tiempo - tabla.llegada(f);
+                        sink.terminado(f, (int) (turnaround - tabla.rafaga(f) - espera),
+                                inicio[f] - tabla.llegada(f), turnaround);
+                        if (tabla.numRafagas(f) > 1) {
+                            sink.extra("espera E/S", f, espera);
+                            sumaEsperaES += espera;
+                            conES++;
+                        }
+                    }
+                    break;
+            }
+            if (observador != null && vigente) observador.evento(tipo, f, tiempo);
+
+            if (listo != -1) {
+                politica.listo(listo, restante[listo], tipo);
+                if (actual != -1) desalojar = politica.expropia(listo, restante[listo], actual, queda());
+            }
+            // Al que no le queda nada no se lo expropia: su fin de ráfaga se atiende en este instante
+            if (desalojar && actual != -1 && queda() > 0) {
+                int a = actual;
+                sink.segmento(a, desde, tiempo);
+                restante[a] = queda();
+                politica.cobrar(a, tiempo - desde);
+                actual = -1;
+                cpuLibre = tiempo;
+                politica.listo(a, restante[a], EXPROPIADO);
+                if (observador != null) observador.evento(EXPROPIADO, a, tiempo);
+            }
+
+            if (dispositivo == -1 && !colaES.isEmpty()) {
+                dispositivo = colaES.pollFirst();
+                calendario.programar(tiempo + tabla.rafaga(dispositivo, rafagaActual[dispositivo]),
+                        CalendarioEventos.FIN_ES, dispositivo);
+            }
+
+            // Se despacha cuando ya se atendieron todos los eventos de este instante
+            if (!calendario.isEmpty() && CalendarioEventos.tiempo(calendario.peek()) == tiempo) continue;
+
+            if (actual == -1 && !politica.isEmpty()) {
+                int a = actual = politica.siguiente();
+                if (tiempo > cpuLibre) sink.segmento(SimulationSink.IDLE, cpuLibre, tiempo);
+                desde = tiempo;
+                if (inicio[a] == -1) inicio[a] = tiempo;
+                int q = politica.quantum(a);
+                boolean expira = restante[a] > q;
+                finCpu = tiempo + (expira ? q : restante[a]);
+                calendario.programar(finCpu, expira ? CalendarioEventos.FIN_QUANTUM : CalendarioEventos.FIN_RAFAGA, a);
+                if (observador != null) observador.evento(DESPACHO, a, tiempo);
+            }
+        }
+
+        // El promedio es solo entre los procesos con E/S; los de una sola ráfaga no cuentan
+        if (conES > 0) sink.extra("espera E/S promedio", (double) sumaEsperaES / conES);
+        if (tabla.tieneES() && tiempo > 0) sink.extra("uso dispositivo", (double) ocupadoES / tiempo);
+        terminado = true;
+        return true;
+    }
+
+    /** Lo que le falta de la ráfaga en curso al proceso en CPU. */
+    private int queda() {
+        return actual == -1 ? 0 : restante[actual] - (tiempo - desde);
+    }
+}
@@ -1,7 +1,7 @@
 package p1.engine;
 
 public class Segment {
-    private final String procesoId; // usa "IDLE" para CPU ociosa
+    private final String procesoId; // usa "IDLE" para CPU ociosa y "CS" para cambio de contexto
     private final int inicio;       // tiempo inclusive
     private final int fin;          // tiempo exclusivo
 
@@ -1,5 +1,6 @@
 package p1.engine;
 
+import p1.model.ProcessTable;
 import p1.model.Proceso;
 import p1.scheduler.Planificador;
 import java.util.List;
@@ -13,4 +14,7 @@ public class Simulador {
     public SimulationResult run(List<Proceso> procesos) {
         return planificador.simular(procesos);
     }
+    public SimulationResult run(ProcessTable tabla) {
+        return planificador.simular(tabla);
+    }
 }
\ No newline at end of file
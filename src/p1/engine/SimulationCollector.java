@@ -0,0 +1,79 @@
+package p1.engine;
+
+import p1.model.ProcessTable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * {@link SimulationSink} que materializa el timeline y las métricas en un
+ * {@link SimulationResult}, para el modo no streaming. El timeline se guarda
+ * empaquetado en un {@link Timeline}.
+ */
+public class SimulationCollector implements SimulationSink {
+    private final ProcessTable tabla;
+    private final Timeline timeline;
+    private Timeline timelineES;
+    private final Map<String, Metrics> metricas = new LinkedHashMap<>();
+    private final Metrics[] porFila;
+    private final MetricsSummary resumen = new MetricsSummary();
+    private final UsoCpu usoCpu = new UsoCpu();
+    private final Map<String, Double> extras = new LinkedHashMap<>();
+    private final Map<String, Map<String, Double>> extrasPorProceso = new LinkedHashMap<>();
+
+    /**
+     * @param enOrdenDeEntrada si es true las métricas se devuelven en el orden
+     *                         de las filas; si no, en orden de finalización.
+     */
+    public SimulationCollector(ProcessTable tabla, boolean enOrdenDeEntrada) {
+        this.tabla = tabla;
+        this.timeline = new Timeline(tabla);
+        this.porFila = enOrdenDeEntrada ? new Metrics[tabla.size()] : null;
+    }
+
+    @Override
+    public void segmento(int proceso, int inicio, int fin) {
+        timeline.agregar(proceso, inicio, fin);
+        usoCpu.registrar(proceso, inicio, fin);
+    }
+
+    @Override
+    public void entradaSalida(int proceso, int inicio, int fin) {
+        if (timelineES == null) timelineES = new Timeline(tabla);
+        timelineES.agregar(proceso, inicio, fin);
+    }
+
+    @Override
+    public void terminado(int proceso, int espera, int respuesta, int turnaround) {
+        resumen.registrar(espera, respuesta, turnaround);
+        Metrics m = new Metrics(espera, respuesta, turnaround);
+        if (porFila != null) {
+            porFila[proceso] = m;
+        } else {
+            metricas.put(tabla.id(proceso), m);
+        }
+    }
+
+    @Override
+    public void extra(String nombre, double valor) {
+        extras.put(nombre, valor);
+    }
+
+    @Override
+    public void extra(String nombre, int proceso, double valor) {
+        extrasPorProceso.computeIfAbsent(nombre, k -> new LinkedHashMap<>()).put(tabla.id(proceso), valor);
+    }
+
+    public SimulationResult resultado(int tiempoFinal) {
+        if (porFila != null) {
+            for (int i = 0; i < porFila.length; i++) {
+                if (porFila[i] != null) metricas.put(tabla.id(i), porFila[i]);
+            }
+        }
+        SimulationResult r = new SimulationResult(timeline, metricas, tiempoFinal, resumen, usoCpu);
+        if (timelineES != null) r.setTimelineES(timelineES);
+        extras.forEach(r::agregarExtra);
+        extrasPorProceso.forEach((nombre, valores) -> valores.forEach((id, v) -> r.agregarExtra(nombre, id, v)));
+        return r;
+    }
+}
@@ -1,5 +1,7 @@
 package p1.engine;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -7,13 +9,86 @@ public class SimulationResult {
     private final List<Segment> timeline;
     private final Map<String, Metrics> metricsPorProceso;
     private final int tiempoFinal;
+    private MetricsSummary resumen;
+    private UsoCpu usoCpu;
+    private List<Segment> timelineES = Collections.emptyList();
+    private final Map<String, Double> extras = new LinkedHashMap<>();
+    private final Map<String, Map<String, Double>> extrasPorProceso = new LinkedHashMap<>();
 
     public SimulationResult(List<Segment> timeline, Map<String, Metrics> metricsPorProceso, int tiempoFinal) {
+        this(timeline, metricsPorProceso, tiempoFinal, null);
+    }
+
+    /** @param resumen agregado ya calculado por el planificador; si es null se deriva de las métricas. */
+    public SimulationResult(List<Segment> timeline, Map<String, Metrics> metricsPorProceso, int tiempoFinal,
+                            MetricsSummary resumen) {
+        this(timeline, metricsPorProceso, tiempoFinal, resumen, null);
+    }
+
+    /** @param usoCpu contabilidad de CPU ya calculada; si es null se deriva del timeline. */
+    public SimulationResult(List<Segment> timeline, Map<String, Metrics> metricsPorProceso, int tiempoFinal,
+                            MetricsSummary resumen, UsoCpu usoCpu) {
         this.timeline = timeline;
         this.metricsPorProceso = metricsPorProceso;
         this.tiempoFinal = tiempoFinal;
+        this.resumen = resumen;
+        this.usoCpu = usoCpu;
     }
     public List<Segment> getTimeline() { return timeline; }
     public Map<String, Metrics> getMetricsPorProceso() { return metricsPorProceso; }
     public int getTiempoFinal() { return tiempoFinal; }
-}
\ No newline at end of file
+
+    /** Periodos en el dispositivo de E/S (vacío si ningún proceso hace E/S). */
+    public List<Segment> getTimelineES() { return timelineES; }
+
+    public void setTimelineES(List<Segment> timelineES) {
+        this.timelineES = timelineES != null ? timelineES : Collections.emptyList();
+    }
+
+    /** Promedios, máximos y percentiles (p50/p95/p99) de espera, respuesta y turnaround. */
+    public MetricsSummary getResumen() {
+        if (resumen == null) resumen = MetricsSummary.de(metricsPorProceso);
+        return resumen;
+    }
+
+    /** Tiempo útil, ocioso y de cambio de contexto, y número de cambios. */
+    public UsoCpu getUsoCpu() {
+        if (usoCpu == null) usoCpu = UsoCpu.de(timeline);
+        return usoCpu;
+    }
+
+    /** Fracción de [0, tiempoFinal) en que la CPU ejecutó procesos (sin contar cambios). */
+    public double getUtilizacionCpu() {
+        return tiempoFinal == 0 ? 0 : (double) getUsoCpu().getOcupado() / tiempoFinal;
+    }
+
+    /** Procesos terminados por unidad de tiempo. */
+    public double getThroughput() {
+        return tiempoFinal == 0 ? 0 : (double) getResumen().getConteo() / tiempoFinal;
+    }
+
+    public long getCambiosDeContexto() {
+        return getUsoCpu().getCambios();
+    }
+
+    /** Fracción de [0, tiempoFinal) gastada en cambios de contexto. */
+    public double getFraccionSobrecarga() {
+        return tiempoFinal == 0 ? 0 : (double) getUsoCpu().getEnCambios() / tiempoFinal;
+    }
+
+    /** Indicadores globales propios del algoritmo (vacío si no reporta ninguno). */
+    public Map<String, Double> getExtras() { return Collections.unmodifiableMap(extras); }
+
+    /** Indicadores por proceso: nombre del indicador → (id → valor). */
+    public Map<String, Map<String, Double>> getExtrasPorProceso() {
+        return Collections.unmodifiableMap(extrasPorProceso);
+    }
+
+    public void agregarExtra(String nombre, double valor) {
+        extras.put(nombre, valor);
+    }
+
+    public void agregarExtra(String nombre, String procesoId, double valor) {
+        extrasPorProceso.computeIfAbsent(nombre, k -> new LinkedHashMap<>()).put(procesoId, valor);
+    }
+}
@@ -0,0 +1,43 @@
+package p1.engine;
+
+import p1.model.ProcessTable;
+
+/**
+ * Receptor de los eventos que produce un planificador mientras simula.
+ * Los procesos se identifican por su fila en la {@link p1.model.ProcessTable},
+ * así el planificador no crea objetos por segmento ni por proceso.
+ */
+public interface SimulationSink {
+    /** Fila usada para la CPU ociosa. */
+    int IDLE = -1;
+    /** Fila usada para el tiempo de cambio de contexto. */
+    int CAMBIO = -2;
+
+    /** La CPU ejecutó la fila {@code proceso} (o IDLE / CAMBIO) en [inicio, fin). */
+    void segmento(int proceso, int inicio, int fin);
+
+    /** La fila {@code proceso} terminó con estas métricas. */
+    void terminado(int proceso, int espera, int respuesta, int turnaround);
+
+    /**
+     * La fila {@code proceso} ocupó el dispositivo de E/S en [inicio, fin).
+     * Solo lo emiten los planificadores con ráfagas de E/S.
+     */
+    default void entradaSalida(int proceso, int inicio, int fin) {
+    }
+
+    /** Indicador global propio del algoritmo (p. ej. índice de equidad en CFS). */
+    default void extra(String nombre, double valor) {
+    }
+
+    /** Indicador por proceso propio del algoritmo (p. ej. deriva de vruntime en CFS). */
+    default void extra(String nombre, int proceso, double valor) {
+    }
+
+    /** Id que se muestra en el {@link Segment} para la fila dada. */
+    static String etiqueta(ProcessTable tabla, int proceso) {
+        if (proceso == IDLE) return "IDLE";
+        if (proceso == CAMBIO) return "CS";
+        return tabla.id(proceso);
+    }
+}
@@ -0,0 +1,61 @@
+package p1.engine;
+
+import p1.model.ProcessTable;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+
+/**
+ * Timeline compacto: guarda cada segmento como la terna (fila, inicio, fin)
+ * dentro de un único int[], unos 12 bytes por segmento en lugar de un objeto
+ * {@link Segment} con su referencia a String.
+ *
+ * Los segmentos contiguos del mismo proceso (o IDLE) se fusionan al agregarse,
+ * p. ej. dos quantums seguidos del mismo proceso en RR quedan como uno.
+ *
+ * Se expone como {@code List<Segment>} de solo lectura, así que
+ * {@link p1.ui.GanttPanel} y el resto del código lo usan sin cambios; cada
+ * {@link #get(int)} crea el Segment al vuelo.
+ */
+public class Timeline extends AbstractList<Segment> implements RandomAccess {
+    private final ProcessTable tabla;
+    private int[] datos;
+    private int tamano;
+
+    public Timeline(ProcessTable tabla) {
+        this.tabla = tabla;
+        this.datos = new int[3 * 16];
+    }
+
+    /** Agrega [inicio, fin) de la fila dada (o {@link SimulationSink#IDLE} / {@link SimulationSink#CAMBIO}). */
+    public void agregar(int proceso, int inicio, int fin) {
+        if (tamano > 0) {
+            int u = 3 * (tamano - 1);
+            if (datos[u] == proceso && datos[u + 2] == inicio) {
+                datos[u + 2] = fin;
+                return;
+            }
+        }
+        if (3 * tamano == datos.length) datos = Arrays.copyOf(datos, datos.length * 2);
+        int k = 3 * tamano++;
+        datos[k] = proceso;
+        datos[k + 1] = inicio;
+        datos[k + 2] = fin;
+    }
+
+    public int proceso(int i) { return datos[3 * i]; }
+    public int inicio(int i) { return datos[3 * i + 1]; }
+    public int fin(int i) { return datos[3 * i + 2]; }
+
+    @Override
+    public Segment get(int i) {
+        if (i < 0 || i >= tamano) throw new IndexOutOfBoundsException(i);
+        return new Segment(SimulationSink.etiqueta(tabla, datos[3 * i]), datos[3 * i + 1], datos[3 * i + 2]);
+    }
+
+    @Override
+    public int size() {
+        return tamano;
+    }
+}
@@ -0,0 +1,76 @@
+package p1.engine;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Contabilidad de la CPU a partir de los segmentos: tiempo útil, ocioso y de
+ * cambio de contexto, y cuántos cambios de contexto hubo.
+ *
+ * Un cambio se cuenta por cada segmento CS; si el algoritmo no cobra costo, por
+ * cada vez que corre un proceso distinto al último que usó la CPU (el primero
+ * no cuenta). Así el conteo es comparable con y sin costo configurado.
+ */
+public class UsoCpu implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private static final int NINGUNO = Integer.MIN_VALUE;
+
+    private long ocupado;
+    private long ocioso;
+    private long enCambios;
+    private long cambios;
+    private int ultimo = NINGUNO;
+
+    /** Registra un segmento por fila (o {@link SimulationSink#IDLE} / {@link SimulationSink#CAMBIO}). */
+    public void registrar(int proceso, int inicio, int fin) {
+        int d = fin - inicio;
+        if (proceso == SimulationSink.IDLE) {
+            ocioso += d;
+        } else if (proceso == SimulationSink.CAMBIO) {
+            enCambios += d;
+            cambios++;
+            ultimo = SimulationSink.CAMBIO;
+        } else {
+            ocupado += d;
+            if (ultimo != NINGUNO && ultimo != SimulationSink.CAMBIO && ultimo != proceso) cambios++;
+            ultimo = proceso;
+        }
+    }
+
+    /** Deriva la contabilidad de un timeline ya materializado (ids "IDLE" y "CS"). */
+    public static UsoCpu de(List<Segment> timeline) {
+        UsoCpu u = new UsoCpu();
+        String ultimoId = null;
+        for (Segment s : timeline) {
+            String id = s.getProcesoId();
+            if ("IDLE".equals(id)) {
+                u.ocioso += s.getDuracion();
+            } else if ("CS".equals(id)) {
+                u.enCambios += s.getDuracion();
+                u.cambios++;
+                ultimoId = id;
+            } else {
+                u.ocupado += s.getDuracion();
+                if (ultimoId != null && !"CS".equals(ultimoId) && !ultimoId.equals(id)) u.cambios++;
+                ultimoId = id;
+            }
+        }
+        return u;
+    }
+
+    /** Suma otra contabilidad (p. ej. la de otro núcleo) a esta. */
+    public void sumar(UsoCpu otro) {
+        ocupado += otro.ocupado;
+        ocioso += otro.ocioso;
+        enCambios += otro.enCambios;
+        cambios += otro.cambios;
+    }
+
+    /** Tiempo en que la CPU ejecutó procesos. */
+    public long getOcupado() { return ocupado; }
+    public long getOcioso() { return ocioso; }
+    /** Tiempo gastado en cambios de contexto. */
+    public long getEnCambios() { return enCambios; }
+    public long getCambios() { return cambios; }
+}
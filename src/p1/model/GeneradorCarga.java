@@ -0,0 +1,178 @@
+package p1.model;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.DoubleSupplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Generador determinista de cargas sintéticas.
+ * - Llegadas Poisson o en ráfagas (alterna fases de tasa alta y baja con
+ *   duración exponencial, un MMPP de dos estados).
+ * - Ráfagas de CPU exponenciales, bimodales o Pareto (cola pesada).
+ * - Con la misma semilla produce siempre la misma carga, y cada recorrido
+ *   empieza de cero: iterar dos veces da los mismos procesos.
+ * - Nada se guarda: {@link #iterator()} y {@link #stream()} crean cada
+ *   {@link Proceso} al pedirlo, y {@link #llenar(ProcessTable)} escribe directo
+ *   en la tabla sin objetos ni Strings por fila (ids "P1", "P2", ...).
+ */
+public class GeneradorCarga implements Iterable<Proceso> {
+
+    /** Proceso de llegadas; cada recorrido pide un generador de intervalos nuevo. */
+    public interface Llegadas {
+        DoubleSupplier iniciar(SplittableRandom azar);
+
+        /** Llegadas Poisson: intervalos exponenciales con {@code tasa} llegadas por unidad de tiempo. */
+        static Llegadas poisson(double tasa) {
+            if (!(tasa > 0)) throw new IllegalArgumentException("Tasa debe ser > 0");
+            return azar -> () -> exponencial(azar, tasa);
+        }
+
+        /**
+         * Llegadas en ráfagas: fases de tasa {@code tasaAlta} y {@code tasaBaja}
+         * (puede ser 0) con duraciones exponenciales de media {@code duracionAlta}
+         * y {@code duracionBaja}. Empieza en la fase alta.
+         */
+        static Llegadas rafagas(double tasaAlta, double tasaBaja, double duracionAlta, double duracionBaja) {
+            if (!(tasaAlta > 0) || tasaBaja < 0) throw new IllegalArgumentException("Tasas inválidas");
+            if (!(duracionAlta > 0) || !(duracionBaja > 0)) throw new IllegalArgumentException("Duraciones deben ser > 0");
+            double[] tasa = {tasaAlta, tasaBaja};
+            double[] duracion = {duracionAlta, duracionBaja};
+            return azar -> new DoubleSupplier() {
+                int fase = 0;
+                double restanteFase = exponencial(azar, 1 / duracion[0]);
+
+                @Override
+                public double getAsDouble() {
+                    double t = 0;
+                    while (true) {
+                        double e = tasa[fase] > 0 ? exponencial(azar, tasa[fase]) : Double.POSITIVE_INFINITY;
+                        if (e < restanteFase) {
+                            restanteFase -= e;
+                            return t + e;
+                        }
+                        // Sin llegada en lo que queda de la fase: pasar a la otra (sin memoria)
+                        t += restanteFase;
+                        fase ^= 1;
+                        restanteFase = exponencial(azar, 1 / duracion[fase]);
+                    }
+                }
+            };
+        }
+    }
+
+    /** Distribución de las ráfagas de CPU; las muestras se redondean a un entero >= 1. */
+    public interface Rafagas {
+        double muestra(SplittableRandom azar);
+
+        static Rafagas exponencial(double media) {
+            if (!(media > 0)) throw new IllegalArgumentException("Media debe ser > 0");
+            return azar -> GeneradorCarga.exponencial(azar, 1 / media);
+        }
+
+        /** Mezcla de dos exponenciales: cortas (interactivas) y, con probabilidad {@code pLarga}, largas. */
+        static Rafagas bimodal(double mediaCorta, double mediaLarga, double pLarga) {
+            if (!(mediaCorta > 0) || !(mediaLarga > 0)) throw new IllegalArgumentException("Medias deben ser > 0");
+            if (pLarga < 0 || pLarga > 1) throw new IllegalArgumentException("Probabilidad fuera de [0, 1]");
+            return azar -> GeneradorCarga.exponencial(azar, 1 / (azar.nextDouble() < pLarga ? mediaLarga : mediaCorta));
+        }
+
+        /** Pareto con mínimo {@code minimo} y forma {@code alfa} (alfa <= 2: varianza infinita). */
+        static Rafagas pareto(double alfa, double minimo) {
+            if (!(alfa > 0) || !(minimo > 0)) throw new IllegalArgumentException("Parámetros deben ser > 0");
+            return azar -> minimo / Math.pow(1 - azar.nextDouble(), 1 / alfa);
+        }
+    }
+
+    private final Llegadas llegadas;
+    private final Rafagas rafagas;
+    private final long cantidad;
+    private final long semilla;
+    private final int niveles;
+
+    public GeneradorCarga(Llegadas llegadas, Rafagas rafagas, long cantidad, long semilla) {
+        this(llegadas, rafagas, cantidad, semilla, 1);
+    }
+
+    /** @param niveles las prioridades se sortean uniformes en [0, niveles) */
+    public GeneradorCarga(Llegadas llegadas, Rafagas rafagas, long cantidad, long semilla, int niveles) {
+        if (cantidad < 0) throw new IllegalArgumentException("Cantidad no puede ser negativa");
+        if (niveles <= 0) throw new IllegalArgumentException("Niveles debe ser > 0");
+        this.llegadas = llegadas;
+        this.rafagas = rafagas;
+        this.cantidad = cantidad;
+        this.semilla = semilla;
+        this.niveles = niveles;
+    }
+
+    public long getCantidad() { return cantidad; }
+    public long getSemilla() { return semilla; }
+
+    @Override
+    public Iterator<Proceso> iterator() {
+        Cursor c = new Cursor();
+        return new Iterator<Proceso>() {
+            @Override
+            public boolean hasNext() {
+                return c.emitidos < cantidad;
+            }
+
+            @Override
+            public Proceso next() {
+                if (!c.avanzar()) throw new NoSuchElementException();
+                return new Proceso("P" + c.emitidos, c.llegada, c.rafaga, c.prioridad);
+            }
+        };
+    }
+
+    public Stream<Proceso> stream() {
+        int caracteristicas = Spliterator.ORDERED | Spliterator.NONNULL | Spliterator.IMMUTABLE;
+        return StreamSupport.stream(Spliterators.spliterator(iterator(), cantidad, caracteristicas), false);
+    }
+
+    /** Agrega toda la carga a la tabla, en orden de llegada. Devuelve la misma tabla. */
+    public ProcessTable llenar(ProcessTable tabla) {
+        Cursor c = new Cursor();
+        while (c.avanzar()) {
+            tabla.agregar(c.llegada, c.rafaga, c.prioridad);
+        }
+        return tabla;
+    }
+
+    /** Nueva tabla con toda la carga (requiere cantidad < 2^31). */
+    public ProcessTable tabla() {
+        if (cantidad > Integer.MAX_VALUE - 8) throw new IllegalStateException("Demasiados procesos para una tabla");
+        return llenar(new ProcessTable((int) cantidad));
+    }
+
+    /** Estado de un recorrido: azar propio, reloj y contador. */
+    private final class Cursor {
+        final SplittableRandom azar = new SplittableRandom(semilla);
+        final DoubleSupplier intervalos = llegadas.iniciar(azar.split());
+        double reloj;
+        long emitidos;
+        int llegada;
+        int rafaga;
+        int prioridad;
+
+        boolean avanzar() {
+            if (emitidos >= cantidad) return false;
+            reloj += intervalos.getAsDouble();
+            if (reloj >= Integer.MAX_VALUE) throw new IllegalStateException("La llegada supera el rango de int");
+            llegada = (int) reloj;
+            double r = Math.rint(rafagas.muestra(azar));
+            rafaga = (int) Math.max(1, Math.min(Integer.MAX_VALUE, r));
+            prioridad = niveles == 1 ? 0 : azar.nextInt(niveles);
+            emitidos++;
+            return true;
+        }
+    }
+
+    private static double exponencial(SplittableRandom azar, double tasa) {
+        return -Math.log(1 - azar.nextDouble()) / tasa;
+    }
+}
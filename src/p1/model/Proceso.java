@@ -3,17 +3,68 @@ package p1.model;
 public class Proceso {
     private final String id;
     private final int llegada;
-    private final int rafaga;
+    private final int rafaga;      // total de CPU
+    private final int prioridad;   // menor número = mayor prioridad
+    private final int plazo;       // plazo relativo a la llegada; 0 = sin plazo
+    private final int[] rafagas;   // CPU, E/S, CPU, ...; null si es una sola ráfaga de CPU
 
     public Proceso(String id, int llegada, int rafaga) {
+        this(id, llegada, rafaga, 0);
+    }
+
+    public Proceso(String id, int llegada, int rafaga, int prioridad) {
+        this(id, llegada, rafaga, prioridad, 0);
+    }
+
+    public Proceso(String id, int llegada, int rafaga, int prioridad, int plazo) {
+        this(id, llegada, rafaga, prioridad, plazo, null);
+    }
+
+    /**
+     * Proceso que alterna ráfagas de CPU y de E/S: {@code rafagas} empieza y
+     * termina en CPU (CPU, E/S, CPU, ...). {@link #getRafaga()} es el total de CPU.
+     */
+    public Proceso(String id, int llegada, int[] rafagas, int prioridad) {
+        this(id, llegada, totalCpu(rafagas), prioridad, 0, rafagas.length > 1 ? rafagas.clone() : null);
+    }
+
+    private Proceso(String id, int llegada, int rafaga, int prioridad, int plazo, int[] rafagas) {
         if (id == null || id.isBlank()) throw new IllegalArgumentException("ID vacío");
         if (llegada < 0) throw new IllegalArgumentException("Llegada no puede ser negativa");
         if (rafaga <= 0) throw new IllegalArgumentException("Ráfaga debe ser > 0");
+        if (prioridad < 0) throw new IllegalArgumentException("Prioridad no puede ser negativa");
+        if (plazo < 0) throw new IllegalArgumentException("Plazo no puede ser negativo");
         this.id = id;
         this.llegada = llegada;
         this.rafaga = rafaga;
+        this.prioridad = prioridad;
+        this.plazo = plazo;
+        this.rafagas = rafagas;
+    }
+
+    /** Valida una secuencia CPU, E/S, CPU, ... y devuelve la suma de las ráfagas de CPU. */
+    public static int totalCpu(int[] rafagas) {
+        if (rafagas == null || rafagas.length % 2 == 0) {
+            throw new IllegalArgumentException("Las ráfagas deben empezar y terminar en CPU");
+        }
+        int total = 0;
+        for (int k = 0; k < rafagas.length; k++) {
+            if (rafagas[k] <= 0) throw new IllegalArgumentException("Cada ráfaga debe ser > 0");
+            if (k % 2 == 0) total = Math.addExact(total, rafagas[k]);
+        }
+        return total;
     }
+
     public String getId() { return id; }
     public int getLlegada() { return llegada; }
     public int getRafaga() { return rafaga; }
-}
\ No newline at end of file
+    public int getPrioridad() { return prioridad; }
+    public int getPlazo() { return plazo; }
+    public boolean tienePlazo() { return plazo > 0; }
+    public boolean tieneES() { return rafagas != null; }
+
+    /** Secuencia CPU, E/S, CPU, ... (una sola ráfaga si el proceso no hace E/S). */
+    public int[] getRafagas() {
+        return rafagas != null ? rafagas.clone() : new int[]{rafaga};
+    }
+}
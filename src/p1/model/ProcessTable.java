@@ -0,0 +1,224 @@
+package p1.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Carga de trabajo en forma columnar (struct-of-arrays).
+ * Cada proceso es una fila i: llegada[i], rafaga[i], prioridad[i], plazo[i] e id[i]. Los planificadores
+ * trabajan con el índice de fila, sin objetos {@link Proceso} ni hashing de
+ * Strings en los ciclos internos.
+ *
+ * El diccionario de ids guarda cada id una sola vez; el mapa id → fila se
+ * construye solo si alguien lo pide con {@link #indiceDe(String)}. Las filas
+ * agregadas sin id (cargas generadas, trazas) no guardan ningún String: su id
+ * "P" + (fila + 1), o el que dé {@link #setIdsImplicitos}, se arma al pedirlo.
+ *
+ * Las secuencias CPU/E/S de los procesos que bloquean se guardan todas juntas
+ * en un único int[] (cada una precedida por su largo) y cada fila apunta a la
+ * suya; las filas de una sola ráfaga no ocupan nada ahí y rafaga[i] es el
+ * total de CPU.
+ */
+public class ProcessTable {
+    private int n;
+    private int[] llegada;
+    private int[] rafaga;
+    private int[] prioridad;
+    private int[] plazo;
+    private String[] ids;
+    private int[] desdeRafagas;    // null si ninguna fila hace E/S; -1 = una sola ráfaga
+    private int[] rafagasPlanas;
+    private int planas;
+    private Map<String, Integer> indicePorId;
+    private IntFunction<String> idsImplicitos;  // null = "P" + (fila + 1)
+
+    public ProcessTable() {
+        this(16);
+    }
+
+    public ProcessTable(int capacidad) {
+        int c = Math.max(1, capacidad);
+        this.llegada = new int[c];
+        this.rafaga = new int[c];
+        this.prioridad = new int[c];
+        this.plazo = new int[c];
+        this.ids = new String[c];
+    }
+
+    /** Convierte una lista de procesos respetando su orden. */
+    public static ProcessTable de(List<Proceso> procesos) {
+        ProcessTable t = new ProcessTable(procesos.size());
+        for (Proceso p : procesos) {
+            if (p.tieneES()) {
+                t.agregar(p.getId(), p.getLlegada(), p.getRafagas(), p.getPrioridad());
+            } else {
+                t.agregar(p.getId(), p.getLlegada(), p.getRafaga(), p.getPrioridad(), p.getPlazo());
+            }
+        }
+        return t;
+    }
+
+    /** Agrega una fila con prioridad 0; devuelve su índice. */
+    public int agregar(String id, int llegada, int rafaga) {
+        return agregar(id, llegada, rafaga, 0);
+    }
+
+    /** Agrega una fila sin plazo; devuelve su índice. */
+    public int agregar(String id, int llegada, int rafaga, int prioridad) {
+        return agregar(id, llegada, rafaga, prioridad, 0);
+    }
+
+    /** Agrega una fila con las mismas validaciones que {@link Proceso}; devuelve su índice. */
+    public int agregar(String id, int llegada, int rafaga, int prioridad, int plazo) {
+        if (id == null || id.isBlank()) throw new IllegalArgumentException("ID vacío");
+        if (llegada < 0) throw new IllegalArgumentException("Llegada no puede ser negativa");
+        if (rafaga <= 0) throw new IllegalArgumentException("Ráfaga debe ser > 0");
+        if (prioridad < 0) throw new IllegalArgumentException("Prioridad no puede ser negativa");
+        if (plazo < 0) throw new IllegalArgumentException("Plazo no puede ser negativo");
+        if (n == this.llegada.length) {
+            int c = n * 2;
+            this.llegada = Arrays.copyOf(this.llegada, c);
+            this.rafaga = Arrays.copyOf(this.rafaga, c);
+            this.prioridad = Arrays.copyOf(this.prioridad, c);
+            this.plazo = Arrays.copyOf(this.plazo, c);
+            this.ids = Arrays.copyOf(this.ids, c);
+        }
+        this.llegada[n] = llegada;
+        this.rafaga[n] = rafaga;
+        this.prioridad[n] = prioridad;
+        this.plazo[n] = plazo;
+        this.ids[n] = id;
+        if (desdeRafagas != null) {
+            if (n == desdeRafagas.length) desdeRafagas = Arrays.copyOf(desdeRafagas, this.llegada.length);
+            desdeRafagas[n] = -1;
+        }
+        if (indicePorId != null) indicePorId.putIfAbsent(id, n);
+        return n++;
+    }
+
+    /** Agrega una fila sin id explícito (ver {@link #setIdsImplicitos}); devuelve su índice. */
+    public int agregar(int llegada, int rafaga, int prioridad) {
+        int i = agregar("P", llegada, rafaga, prioridad, 0);
+        ids[i] = null;
+        if (indicePorId != null) {
+            indicePorId.remove("P", i);
+            indicePorId.putIfAbsent(id(i), i);
+        }
+        return i;
+    }
+
+    /**
+     * Agrega una fila que alterna CPU y E/S ({@code rafagas} = CPU, E/S, CPU, ...);
+     * su ráfaga es el total de CPU. Devuelve su índice.
+     */
+    public int agregar(String id, int llegada, int[] rafagas, int prioridad) {
+        int total = Proceso.totalCpu(rafagas);
+        int i = agregar(id, llegada, total, prioridad, 0);
+        if (rafagas.length == 1) return i;
+        if (desdeRafagas == null) {
+            desdeRafagas = new int[this.llegada.length];
+            Arrays.fill(desdeRafagas, -1);
+            rafagasPlanas = new int[16];
+        } else if (desdeRafagas.length < this.llegada.length) {
+            int c = desdeRafagas.length;
+            desdeRafagas = Arrays.copyOf(desdeRafagas, this.llegada.length);
+            Arrays.fill(desdeRafagas, c, desdeRafagas.length, -1);
+        }
+        int largo = rafagas.length + 1;
+        if (planas + largo > rafagasPlanas.length) {
+            rafagasPlanas = Arrays.copyOf(rafagasPlanas, Math.max(planas + largo, rafagasPlanas.length * 2));
+        }
+        desdeRafagas[i] = planas;
+        rafagasPlanas[planas] = rafagas.length;
+        System.arraycopy(rafagas, 0, rafagasPlanas, planas + 1, rafagas.length);
+        planas += largo;
+        return i;
+    }
+
+    public int size() { return n; }
+    public boolean isEmpty() { return n == 0; }
+    public int llegada(int i) { return llegada[i]; }
+    public int rafaga(int i) { return rafaga[i]; }
+    public int prioridad(int i) { return prioridad[i]; }
+    /** Plazo relativo a la llegada; 0 = sin plazo. */
+    public int plazo(int i) { return plazo[i]; }
+    public String id(int i) {
+        String id = ids[i];
+        if (id != null) return id;
+        return idsImplicitos != null ? idsImplicitos.apply(i) : "P" + (i + 1);
+    }
+
+    /**
+     * Cómo nombrar las filas agregadas sin id: {@code ids} recibe la fila y
+     * arma su id cuando se pide (por ejemplo, leyéndolo de la traza mapeada).
+     * Con null se vuelve a "P" + (fila + 1).
+     */
+    public void setIdsImplicitos(IntFunction<String> ids) {
+        this.idsImplicitos = ids;
+        this.indicePorId = null;
+    }
+
+    /** ¿Alguna fila alterna CPU y E/S? */
+    public boolean tieneES() { return planas > 0; }
+
+    /** Cantidad de ráfagas (CPU y E/S) de la fila; 1 si no hace E/S. */
+    public int numRafagas(int i) {
+        int d = desdeRafagas == null ? -1 : desdeRafagas[i];
+        return d == -1 ? 1 : rafagasPlanas[d];
+    }
+
+    /** Ráfaga k de la fila: las pares son de CPU y las impares de E/S. */
+    public int rafaga(int i, int k) {
+        int d = desdeRafagas == null ? -1 : desdeRafagas[i];
+        if (d == -1) {
+            if (k != 0) throw new IndexOutOfBoundsException("Ráfaga " + k);
+            return rafaga[i];
+        }
+        if (k < 0 || k >= rafagasPlanas[d]) throw new IndexOutOfBoundsException("Ráfaga " + k);
+        return rafagasPlanas[d + 1 + k];
+    }
+
+    /** Fila del id dado (la primera si está repetido) o -1. */
+    public int indiceDe(String id) {
+        if (indicePorId == null) {
+            indicePorId = new HashMap<>(n * 2);
+            for (int i = 0; i < n; i++) indicePorId.putIfAbsent(id(i), i);
+        }
+        Integer i = indicePorId.get(id);
+        return i == null ? -1 : i;
+    }
+
+    /** Materializa la tabla como lista de procesos (para planificadores sin soporte columnar). */
+    public List<Proceso> aProcesos() {
+        List<Proceso> lista = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int r = numRafagas(i);
+            if (r > 1) {
+                int[] seq = new int[r];
+                for (int k = 0; k < r; k++) seq[k] = rafaga(i, k);
+                lista.add(new Proceso(id(i), llegada[i], seq, prioridad[i]));
+            } else {
+                lista.add(new Proceso(id(i), llegada[i], rafaga[i], prioridad[i], plazo[i]));
+            }
+        }
+        return lista;
+    }
+
+    /**
+     * Filas ordenadas por llegada (si igual, por índice) empaquetadas como
+     * (llegada << 32 | índice). Es el orden de la cola de llegadas de todos
+     * los planificadores.
+     */
+    public long[] ordenPorLlegada() {
+        long[] orden = new long[n];
+        for (int i = 0; i < n; i++) {
+            orden[i] = ((long) llegada[i] << 32) | i;
+        }
+        Arrays.sort(orden);
+        return orden;
+    }
+}
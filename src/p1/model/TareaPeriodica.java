@@ -0,0 +1,40 @@
+package p1.model;
+
+/**
+ * Tarea periódica de tiempo real: libera un trabajo de {@code costo} unidades
+ * en {@code fase}, {@code fase + periodo}, {@code fase + 2·periodo}, ...
+ * y cada trabajo debe terminar a más tardar {@code plazo} unidades después de
+ * su liberación (por defecto, el periodo).
+ */
+public class TareaPeriodica {
+    private final String id;
+    private final int fase;
+    private final int periodo;
+    private final int costo;
+    private final int plazo;
+
+    public TareaPeriodica(String id, int periodo, int costo) {
+        this(id, 0, periodo, costo, periodo);
+    }
+
+    public TareaPeriodica(String id, int fase, int periodo, int costo, int plazo) {
+        if (id == null || id.isBlank()) throw new IllegalArgumentException("ID vacío");
+        if (fase < 0) throw new IllegalArgumentException("Fase no puede ser negativa");
+        if (periodo <= 0) throw new IllegalArgumentException("Periodo debe ser > 0");
+        if (costo <= 0) throw new IllegalArgumentException("Costo debe ser > 0");
+        if (plazo <= 0) throw new IllegalArgumentException("Plazo debe ser > 0");
+        this.id = id;
+        this.fase = fase;
+        this.periodo = periodo;
+        this.costo = costo;
+        this.plazo = plazo;
+    }
+
+    public String getId() { return id; }
+    public int getFase() { return fase; }
+    public int getPeriodo() { return periodo; }
+    public int getCosto() { return costo; }
+    public int getPlazo() { return plazo; }
+
+    public double getUtilizacion() { return (double) costo / periodo; }
+}
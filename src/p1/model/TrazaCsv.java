@@ -0,0 +1,257 @@
+package p1.model;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Lector de trazas CSV grandes ({@code id,llegada,rafaga[,prioridad]} por línea).
+ * - El archivo se mapea en memoria por ventanas de 1 GB y los números se
+ *   leen directo de los bytes: no hay Strings ni objetos por línea.
+ * - Los ids no se copian: cada fila guarda dónde está su id en el archivo y
+ *   {@link ProcessTable#id(int)} lo decodifica recién cuando se pide.
+ * - Una primera línea con palabras en las columnas de llegada y ráfaga
+ *   (encabezado) se salta, igual que las líneas vacías, un BOM inicial, CRLF
+ *   y las comillas del id; cualquier otra se lee y, si está mal, da error.
+ * - {@link #cargar(Path)} arma una tabla con toda la traza y
+ *   {@link #agregarA} la va agregando por partes a una misma tabla (para
+ *   mostrar avance o simular lo que ya se leyó); {@link #siguienteBloque(int)}
+ *   la entrega en tablas sueltas de tamaño acotado, para recorrerla sin
+ *   tenerla entera en memoria.
+ */
+public final class TrazaCsv {
+
+    private static final int BITS_VENTANA = 30;
+    private static final long VENTANA = 1L << BITS_VENTANA;
+    /** Cada ventana se extiende esto más allá de su límite para contener la última línea que empieza en ella. */
+    private static final int MAX_LINEA = 1 << 16;
+    /** Los ids se guardan como (posición << 16 | largo). */
+    private static final int MAX_ID = 0xFFFF;
+
+    private final Path archivo;
+    private final MappedByteBuffer[] ventanas;
+    private final long tamano;
+    private long pos;       // inicio de la próxima línea
+    private long linea;     // número de la próxima línea, para los errores
+    private ProcessTable destino;   // tabla que arma agregarA
+    private long[] idsDestino;      // id empaquetado de cada fila de destino
+
+    private TrazaCsv(Path archivo) throws IOException {
+        this.archivo = archivo;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            tamano = canal.size();
+            // El mapeo sigue válido después de cerrar el canal
+            ventanas = new MappedByteBuffer[(int) ((tamano + VENTANA - 1) >>> BITS_VENTANA)];
+            for (int k = 0; k < ventanas.length; k++) {
+                long inicio = (long) k << BITS_VENTANA;
+                ventanas[k] = canal.map(FileChannel.MapMode.READ_ONLY, inicio,
+                        Math.min(tamano - inicio, VENTANA + MAX_LINEA));
+            }
+        }
+        linea = 1;
+        if (tamano >= 3 && byteEn(0) == (byte) 0xEF && byteEn(1) == (byte) 0xBB && byteEn(2) == (byte) 0xBF) {
+            pos = 3;
+        }
+        if (esEncabezado()) saltarLinea();
+    }
+
+    public static TrazaCsv abrir(Path archivo) throws IOException {
+        return new TrazaCsv(archivo);
+    }
+
+    /** Toda la traza en una sola tabla, en el orden del archivo. */
+    public static ProcessTable cargar(Path archivo) throws IOException {
+        TrazaCsv traza = abrir(archivo);
+        // ~16 bytes por línea es una buena primera estimación; la tabla crece si hace falta
+        int estimado = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(16, traza.tamano / 16));
+        ProcessTable tabla = new ProcessTable(estimado);
+        traza.leer(tabla, new long[estimado], Integer.MAX_VALUE - 8);
+        return tabla;
+    }
+
+    public long getTamano() { return tamano; }
+
+    /** Bytes ya consumidos (para mostrar avance). */
+    public long getLeidos() { return pos; }
+
+    public boolean hayMas() {
+        saltarLineasVacias();
+        return pos < tamano;
+    }
+
+    /**
+     * Próximas {@code maxFilas} líneas (o las que queden) como una tabla nueva,
+     * con filas desde 0; null si la traza se terminó. Cada bloque ocupa
+     * memoria solo por sus filas, así una traza de varios GB se puede recorrer
+     * (contar, filtrar, inspeccionar) sin cargarla entera. Los bloques son
+     * independientes: simular uno no sigue la simulación del anterior; para
+     * una sola corrida sobre toda la traza está {@link #agregarA}.
+     */
+    public ProcessTable siguienteBloque(int maxFilas) {
+        if (maxFilas <= 0) throw new IllegalArgumentException("Bloque debe ser > 0");
+        if (!hayMas()) return null;
+        int capacidad = Math.min(maxFilas, 1 << 16);
+        ProcessTable tabla = new ProcessTable(capacidad);
+        leer(tabla, new long[capacidad], maxFilas);
+        return tabla;
+    }
+
+    /**
+     * Agrega a {@code tabla} las próximas {@code maxFilas} líneas (o las que
+     * queden), a continuación de las que ya tiene; devuelve cuántas agregó.
+     * La tabla debe estar vacía la primera vez y después recibir solo filas
+     * de esta traza. Con la traza ordenada por llegada, cada parte se puede
+     * simular sin volver a empezar con {@link p1.scheduler.PlanificadorES#continuar}.
+     */
+    public int agregarA(ProcessTable tabla, int maxFilas) {
+        if (maxFilas <= 0) throw new IllegalArgumentException("Bloque debe ser > 0");
+        if (tabla != destino) {
+            if (!tabla.isEmpty()) throw new IllegalArgumentException("La tabla debe estar vacía o venir de esta traza");
+            destino = tabla;
+            idsDestino = new long[Math.min(maxFilas, 1 << 16)];
+        }
+        int antes = tabla.size();
+        idsDestino = leer(tabla, idsDestino, maxFilas);
+        return tabla.size() - antes;
+    }
+
+    /** Agrega hasta maxFilas filas; ids[f] es el id empaquetado de la fila f. Devuelve ids (quizás agrandado). */
+    private long[] leer(ProcessTable tabla, long[] ids, int maxFilas) {
+        // Sin índice por id mientras se agregan filas cuyo id todavía no está en ids
+        tabla.setIdsImplicitos(null);
+        int antes = tabla.size();
+        while (tabla.size() - antes < maxFilas && hayMas()) {
+            int k = (int) (pos >>> BITS_VENTANA);
+            MappedByteBuffer b = ventanas[k];
+            int fin = b.limit();
+            int i = (int) (pos - ((long) k << BITS_VENTANA));
+            int inicioLinea = i;
+
+            // id: hasta la coma, sin espacios ni comillas alrededor
+            int desde = saltarEspacios(b, i, fin);
+            i = desde;
+            while (i < fin && b.get(i) != ',' && b.get(i) != '\n') i++;
+            if (i >= fin || b.get(i) != ',') throw error("faltan columnas");
+            int hasta = i;
+            while (hasta > desde && esEspacio(b.get(hasta - 1))) hasta--;
+            if (hasta - desde >= 2 && b.get(desde) == '"' && b.get(hasta - 1) == '"') {
+                desde++;
+                hasta--;
+            }
+            if (hasta == desde) throw error("ID vacío");
+            if (hasta - desde > MAX_ID) throw error("ID de más de " + MAX_ID + " bytes");
+            i++;
+
+            long llegada = 0;
+            int d = i = saltarEspacios(b, i, fin);
+            for (byte c; i < fin && (c = b.get(i)) >= '0' && c <= '9'; i++) {
+                llegada = llegada * 10 + (c - '0');
+                if (llegada > Integer.MAX_VALUE) throw error("llegada fuera de rango");
+            }
+            if (i == d) throw error("llegada inválida");
+            i = saltarEspacios(b, i, fin);
+            if (i >= fin || b.get(i) != ',') throw error("faltan columnas");
+            i++;
+
+            long rafaga = 0;
+            d = i = saltarEspacios(b, i, fin);
+            for (byte c; i < fin && (c = b.get(i)) >= '0' && c <= '9'; i++) {
+                rafaga = rafaga * 10 + (c - '0');
+                if (rafaga > Integer.MAX_VALUE) throw error("ráfaga fuera de rango");
+            }
+            if (i == d) throw error("ráfaga inválida");
+            if (rafaga == 0) throw error("ráfaga debe ser > 0");
+            i = saltarEspacios(b, i, fin);
+
+            long prioridad = 0;
+            if (i < fin && b.get(i) == ',') {
+                d = i = saltarEspacios(b, i + 1, fin);
+                for (byte c; i < fin && (c = b.get(i)) >= '0' && c <= '9'; i++) {
+                    prioridad = prioridad * 10 + (c - '0');
+                    if (prioridad > Integer.MAX_VALUE) throw error("prioridad fuera de rango");
+                }
+                if (i == d) throw error("prioridad inválida");
+                i = saltarEspacios(b, i, fin);
+            }
+            if (i < fin && b.get(i) == '\r') i++;
+            if (i < fin && b.get(i) != '\n') throw error("columnas de más o valor inválido");
+            if (i >= fin && pos + (i - inicioLinea) < tamano) throw error("línea de más de " + MAX_LINEA + " bytes");
+
+            int fila = tabla.agregar((int) llegada, (int) rafaga, (int) prioridad);
+            if (fila >= ids.length) ids = Arrays.copyOf(ids, Math.max(fila + 1, ids.length * 2));
+            ids[fila] = ((pos + (desde - inicioLinea)) << 16) | (hasta - desde);
+            pos += i - inicioLinea + 1;
+            linea++;
+        }
+        long[] posIds = ids;
+        tabla.setIdsImplicitos(f -> decodificar(posIds[f]));
+        return ids;
+    }
+
+    /** Id guardado como (posición << 16 | largo). */
+    private String decodificar(long empaquetado) {
+        long p = empaquetado >>> 16;
+        int largo = (int) (empaquetado & 0xFFFF);
+        int k = (int) (p >>> BITS_VENTANA);
+        byte[] bytes = new byte[largo];
+        ventanas[k].get((int) (p - ((long) k << BITS_VENTANA)), bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** ¿Las columnas de llegada y ráfaga de la línea actual empiezan con una letra o una comilla? */
+    private boolean esEncabezado() {
+        long p = pos;
+        for (int campo = 0; campo < 2; campo++) {
+            while (p < tamano && byteEn(p) != ',' && byteEn(p) != '\n') p++;
+            if (p >= tamano || byteEn(p) != ',') return false;
+            p++;
+            while (p < tamano && esEspacio(byteEn(p))) p++;
+            if (p >= tamano || !esInicioDePalabra(byteEn(p))) return false;
+        }
+        return true;
+    }
+
+    /** Letra ASCII, comilla o primer byte de un carácter UTF-8 de más de un byte (ñ, á...). */
+    private static boolean esInicioDePalabra(byte b) {
+        int minuscula = b | 0x20;
+        return b == '"' || b < 0 || (minuscula >= 'a' && minuscula <= 'z');
+    }
+
+    private void saltarLinea() {
+        while (pos < tamano && byteEn(pos) != '\n') pos++;
+        pos++;
+        linea++;
+    }
+
+    private void saltarLineasVacias() {
+        while (pos < tamano) {
+            long p = pos;
+            while (p < tamano && (esEspacio(byteEn(p)) || byteEn(p) == '\r')) p++;
+            if (p < tamano && byteEn(p) != '\n') return;
+            pos = p + 1;
+            linea++;
+        }
+    }
+
+    private byte byteEn(long p) {
+        int k = (int) (p >>> BITS_VENTANA);
+        return ventanas[k].get((int) (p - ((long) k << BITS_VENTANA)));
+    }
+
+    private static int saltarEspacios(MappedByteBuffer b, int i, int fin) {
+        while (i < fin && esEspacio(b.get(i))) i++;
+        return i;
+    }
+
+    private static boolean esEspacio(byte c) {
+        return c == ' ' || c == '\t';
+    }
+
+    private IllegalArgumentException error(String motivo) {
+        return new IllegalArgumentException(archivo.getFileName() + ", línea " + linea + ": " + motivo);
+    }
+}
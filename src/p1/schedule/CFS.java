@@ -0,0 +1,160 @@
+package p1.scheduler;
+
+import p1.engine.SimulationSink;
+import p1.model.ProcessTable;
+
+import java.util.TreeSet;
+
+/**
+ * Planificador estilo Completely Fair Scheduler.
+ *
+ * - Los procesos listos viven en un árbol rojo-negro ({@link TreeSet})
+ *   ordenado por (vruntime, fila); siempre corre el de menor vruntime, así que
+ *   cada decisión cuesta O(log n).
+ * - La prioridad del proceso se interpreta como nice 0..19 (mayor se recorta a
+ *   19) y se traduce al peso de Linux (nice 0 = 1024). El vruntime avanza
+ *   {@code dt * 1024 / peso}: los procesos pesados avanzan más lento.
+ * - Rebanada: {@code latenciaObjetivo * peso / pesoTotal}, nunca menor que
+ *   {@code granularidadMinima}; con más de latencia/granularidad procesos el
+ *   periodo se estira a {@code n * granularidadMinima}.
+ * - Una llegada entra con el vruntime mínimo actual y expropia al proceso en
+ *   ejecución si éste le lleva más de una granularidad (en vruntime del nuevo).
+ *
+ * Indicadores extra:
+ * - Por proceso, "deriva vruntime": cuánto se separó su vruntime del mínimo
+ *   del sistema al terminar (en unidades de tiempo nice 0).
+ * - Globales, "equidad Jain" (índice de Jain de la CPU recibida por unidad de
+ *   tiempo en el sistema y por peso; 1 = perfectamente justo) y
+ *   "deriva vruntime max".
+ */
+public class CFS extends PlanificadorTabla {
+
+    /** Pesos de Linux para nice 0..19 (sched_prio_to_weight). */
+    private static final int[] PESOS = {
+        1024, 820, 655, 526, 423, 335, 272, 215, 172, 137,
+        110, 87, 70, 56, 45, 36, 29, 23, 18, 15};
+    /** Bits de fracción del vruntime. */
+    private static final int FRACCION = 10;
+
+    private final int latenciaObjetivo;
+    private final int granularidadMinima;
+
+    public CFS() {
+        this(24, 3);
+    }
+
+    public CFS(int latenciaObjetivo, int granularidadMinima) {
+        if (granularidadMinima <= 0 || latenciaObjetivo < granularidadMinima) {
+            throw new IllegalArgumentException("Se requiere 0 < granularidad <= latencia");
+        }
+        this.latenciaObjetivo = latenciaObjetivo;
+        this.granularidadMinima = granularidadMinima;
+    }
+
+    public static int peso(int nice) {
+        return PESOS[Math.min(Math.max(nice, 0), PESOS.length - 1)];
+    }
+
+    /** Avance de vruntime (con fracción) por {@code dt} unidades con el peso dado. */
+    private static long avance(long dt, int peso) {
+        return (dt << FRACCION) * 1024 / peso;
+    }
+
+    @Override
+    protected int ejecutar(ProcessTable tabla, SimulationSink sink) {
+        int n = tabla.size();
+        long[] orden = tabla.ordenPorLlegada();
+        long[] vr = new long[n];
+        int[] peso = new int[n];
+        int[] restante = new int[n];
+        int[] inicioP = new int[n];
+        for (int i = 0; i < n; i++) {
+            peso[i] = peso(tabla.prioridad(i));
+            restante[i] = tabla.rafaga(i);
+            inicioP[i] = -1;
+        }
+        TreeSet<Integer> arbol = new TreeSet<>((a, b) -> vr[a] != vr[b] ? Long.compare(vr[a], vr[b]) : Integer.compare(a, b));
+
+        long minVr = 0;
+        long pesoTotal = 0;     // pesos de los listos más el del actual
+        double sumaX = 0, sumaX2 = 0, derivaMax = 0;
+        int tiempo = 0;
+        int cursor = 0;
+        int terminados = 0;
+        int actual = -1;
+        int inicio = 0;
+        int finSlice = 0;
+
+        while (terminados < n) {
+            if (actual == -1) {
+                if (arbol.isEmpty() && (int) (orden[cursor] >>> 32) > tiempo) {
+                    sink.segmento(SimulationSink.IDLE, tiempo, (int) (orden[cursor] >>> 32));
+                    tiempo = (int) (orden[cursor] >>> 32);
+                }
+                while (cursor < n && (int) (orden[cursor] >>> 32) <= tiempo) {
+                    int i = (int) orden[cursor++];
+                    vr[i] = minVr;
+                    arbol.add(i);
+                    pesoTotal += peso[i];
+                }
+                actual = arbol.pollFirst();
+                inicio = tiempo;
+                if (inicioP[actual] == -1) inicioP[actual] = tiempo;
+                finSlice = tiempo + Math.min(rebanada(peso[actual], pesoTotal, arbol.size() + 1), restante[actual]);
+            }
+
+            int sigLlegada = cursor < n ? (int) (orden[cursor] >>> 32) : Integer.MAX_VALUE;
+            int evento = Math.min(finSlice, sigLlegada);
+            int dt = evento - tiempo;
+            restante[actual] -= dt;
+            vr[actual] += avance(dt, peso[actual]);
+            tiempo = evento;
+            long izquierdo = arbol.isEmpty() ? vr[actual] : Math.min(vr[actual], vr[arbol.first()]);
+            minVr = Math.max(minVr, izquierdo);
+
+            if (restante[actual] == 0) {
+                sink.segmento(actual, inicio, tiempo);
+                int turnaround = tiempo - tabla.llegada(actual);
+                sink.terminado(actual, turnaround - tabla.rafaga(actual),
+                        inicioP[actual] - tabla.llegada(actual), turnaround);
+                double deriva = (double) (vr[actual] - minVr) / (1 << FRACCION);
+                sink.extra("deriva vruntime", actual, deriva);
+                derivaMax = Math.max(derivaMax, Math.abs(deriva));
+                double x = (double) tabla.rafaga(actual) / turnaround / peso[actual];
+                sumaX += x;
+                sumaX2 += x * x;
+                pesoTotal -= peso[actual];
+                terminados++;
+                actual = -1;
+                continue;
+            }
+
+            boolean expropiar = tiempo == finSlice;
+            while (cursor < n && (int) (orden[cursor] >>> 32) <= tiempo) {
+                int i = (int) orden[cursor++];
+                vr[i] = minVr;
+                arbol.add(i);
+                pesoTotal += peso[i];
+                if (vr[actual] - vr[i] > avance(granularidadMinima, peso[i])) expropiar = true;
+            }
+            if (expropiar) {
+                sink.segmento(actual, inicio, tiempo);
+                arbol.add(actual);
+                actual = -1;
+            }
+        }
+
+        if (n > 0) {
+            sink.extra("equidad Jain", sumaX * sumaX / (n * sumaX2));
+            sink.extra("deriva vruntime max", derivaMax);
+        }
+        return tiempo;
+    }
+
+    private int rebanada(int peso, long pesoTotal, int listos) {
+        long periodo = latenciaObjetivo;
+        if (listos > latenciaObjetivo / granularidadMinima) periodo = (long) listos * granularidadMinima;
+        long r = periodo * peso / pesoTotal;
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(granularidadMinima, r));
+    }
+}
@@ -0,0 +1,194 @@
+package p1.scheduler;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.function.BiConsumer;
+import p1.engine.EscritorTimeline;
+import p1.engine.Metrics;
+import p1.engine.MetricsSummary;
+import p1.engine.SimulationResult;
+import p1.engine.SimulationSink;
+import p1.engine.UsoCpu;
+import p1.model.ProcessTable;
+
+/**
+ * Corrida larga de un {@link PlanificadorES} que sobrevive a la caída del
+ * proceso: cada cierto tiempo de reloj guarda en disco un punto de control
+ * (estado del planificador, resumen de métricas, uso de CPU, indicadores
+ * globales y por dónde va el archivo de timeline). Si al ejecutar ya existe
+ * un punto de control de la misma tabla, sigue desde ahí y termina con el
+ * mismo resultado que una corrida sin cortes.
+ * - El timeline va a un archivo de {@link EscritorTimeline}; lo escrito
+ *   después del último punto de control se descarta al retomar.
+ * - El punto de control se escribe en un archivo temporal y se renombra, así
+ *   una caída a mitad de la escritura deja el anterior intacto.
+ * - Las métricas por proceso no se guardan (solo el resumen); si se pide
+ *   {@link #setTerminados}, al retomar se vuelven a entregar las de los
+ *   procesos terminados después del último punto de control.
+ * - Al terminar se borra el punto de control.
+ */
+public class CorridaReanudable {
+
+    private final PlanificadorES planificador;
+    private final ProcessTable tabla;
+    private final Path timeline;
+    private final Path puntoControl;
+    private Duration intervalo = Duration.ofMinutes(1);
+    private long eventosPorTramo = 1 << 20;
+    private BiConsumer<String, Metrics> terminados = (id, m) -> { };
+    private int puntosGuardados;
+    private boolean reanudada;
+
+    /** Lo que se guarda en cada punto de control. */
+    private static final class Punto implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        long firmaTabla;
+        PlanificadorES.Estado estado;
+        MetricsSummary resumen;
+        UsoCpu usoCpu;
+        LinkedHashMap<String, Double> extras;
+        EscritorTimeline.Estado escritor;    // null si no hay archivo de timeline
+    }
+
+    /** @param timeline archivo del timeline, o null para no guardarlo */
+    public CorridaReanudable(PlanificadorES planificador, ProcessTable tabla, Path timeline, Path puntoControl) {
+        this.planificador = planificador;
+        this.tabla = tabla;
+        this.timeline = timeline;
+        this.puntoControl = puntoControl;
+    }
+
+    /** Tiempo de reloj mínimo entre puntos de control (cero = después de cada tramo). */
+    public CorridaReanudable setIntervalo(Duration intervalo) {
+        if (intervalo.isNegative()) throw new IllegalArgumentException("Intervalo no puede ser negativo");
+        this.intervalo = intervalo;
+        return this;
+    }
+
+    /** Eventos por tramo: cada cuánto se revisa si toca guardar. */
+    public CorridaReanudable setEventosPorTramo(long eventos) {
+        if (eventos <= 0) throw new IllegalArgumentException("Eventos debe ser > 0");
+        this.eventosPorTramo = eventos;
+        return this;
+    }
+
+    public CorridaReanudable setTerminados(BiConsumer<String, Metrics> terminados) {
+        this.terminados = terminados;
+        return this;
+    }
+
+    /** Puntos de control escritos en la última ejecución. */
+    public int getPuntosGuardados() { return puntosGuardados; }
+
+    /** ¿La última ejecución siguió desde un punto de control? */
+    public boolean isReanudada() { return reanudada; }
+
+    /**
+     * Corre (o retoma) la simulación hasta el final. Como en streaming, el
+     * resultado trae el tiempo final, el resumen, el uso de CPU y los
+     * indicadores globales; el timeline queda en el archivo.
+     */
+    public SimulationResult ejecutar() throws IOException {
+        long firma = firma(tabla);
+        Punto p = Files.exists(puntoControl) ? leer(firma) : null;
+        reanudada = p != null;
+        puntosGuardados = 0;
+        if (p == null) {
+            p = new Punto();
+            p.firmaTabla = firma;
+            p.estado = planificador.iniciar(tabla);
+            p.resumen = new MetricsSummary();
+            p.usoCpu = new UsoCpu();
+            p.extras = new LinkedHashMap<>();
+        }
+        EscritorTimeline escritor = timeline == null ? null
+                : p.escritor != null ? EscritorTimeline.reanudar(timeline, p.escritor, tabla)
+                : new EscritorTimeline(timeline, tabla);
+
+        Punto punto = p;
+        SimulationSink sink = new SimulationSink() {
+            @Override
+            public void segmento(int proceso, int inicio, int fin) {
+                punto.usoCpu.registrar(proceso, inicio, fin);
+                if (escritor != null) escritor.agregar(proceso, inicio, fin);
+            }
+
+            @Override
+            public void terminado(int proceso, int espera, int respuesta, int turnaround) {
+                punto.resumen.registrar(espera, respuesta, turnaround);
+                terminados.accept(tabla.id(proceso), new Metrics(espera, respuesta, turnaround));
+            }
+
+            @Override
+            public void extra(String nombre, double valor) {
+                punto.extras.put(nombre, valor);
+            }
+        };
+
+        try {
+            long ultimo = System.nanoTime();
+            while (!planificador.avanzar(p.estado, tabla, sink, Long.MAX_VALUE, eventosPorTramo)) {
+                if (System.nanoTime() - ultimo >= intervalo.toNanos()) {
+                    p.escritor = escritor != null ? escritor.puntoControl() : null;
+                    guardar(p);
+                    ultimo = System.nanoTime();
+                }
+            }
+        } finally {
+            if (escritor != null) escritor.close();
+        }
+        Files.deleteIfExists(puntoControl);
+
+        SimulationResult r = new SimulationResult(Collections.emptyList(), Collections.emptyMap(),
+                p.estado.getTiempo(), p.resumen, p.usoCpu);
+        p.extras.forEach(r::agregarExtra);
+        return r;
+    }
+
+    private void guardar(Punto p) throws IOException {
+        Path temporal = puntoControl.resolveSibling(puntoControl.getFileName() + ".tmp");
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(temporal)))) {
+            out.writeObject(p);
+        }
+        Files.move(temporal, puntoControl, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        puntosGuardados++;
+    }
+
+    private Punto leer(long firma) throws IOException {
+        Punto p;
+        try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(puntoControl)))) {
+            p = (Punto) in.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new InvalidClassException("Punto de control inválido: " + e.getMessage());
+        }
+        if (p.firmaTabla != firma) throw new IOException("El punto de control es de otra tabla de procesos");
+        if ((p.escritor == null) != (timeline == null)) {
+            throw new IOException("El punto de control no coincide con el archivo de timeline pedido");
+        }
+        return p;
+    }
+
+    /** Huella de la carga (llegadas, ráfagas y prioridades) para no retomar con otra tabla. */
+    static long firma(ProcessTable tabla) {
+        long h = tabla.size();
+        for (int i = 0; i < tabla.size(); i++) {
+            h = h * 31 + tabla.llegada(i);
+            h = h * 31 + tabla.prioridad(i);
+            int r = tabla.numRafagas(i);
+            for (int k = 0; k < r; k++) h = h * 31 + tabla.rafaga(i, k);
+        }
+        return h;
+    }
+}
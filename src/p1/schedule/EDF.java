@@ -0,0 +1,374 @@
+package p1.scheduler;
+
+import p1.engine.Distribucion;
+import p1.engine.IntDeque;
+import p1.engine.LongHeap;
+import p1.engine.Metrics;
+import p1.engine.MetricsSummary;
+import p1.engine.Segment;
+import p1.engine.SimulationResult;
+import p1.engine.SimulationSink;
+import p1.engine.UsoCpu;
+import p1.model.ProcessTable;
+import p1.model.TareaPeriodica;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Earliest Deadline First expropiativo.
+ * - Los trabajos listos están en un {@link LongHeap} por (vencimiento, ranura);
+ *   un trabajo que llega expropia al actual solo si vence estrictamente antes.
+ * - En una {@link ProcessTable} el vencimiento es llegada + plazo; las filas
+ *   sin plazo (0) corren detrás de todas las que tienen.
+ * - Para tareas periódicas ({@link #simular(List, int, Consumer, BiConsumer)})
+ *   los trabajos se liberan de a uno desde un calendario con una entrada por
+ *   tarea, y sus ranuras se reciclan al terminar: la memoria depende de los
+ *   trabajos pendientes, no de los millones que se liberan en el horizonte.
+ *
+ * Indicadores extra: por trabajo con plazo, "tardanza" (fin - vencimiento,
+ * negativa si terminó antes); globales, "plazos incumplidos", "tardanza p50",
+ * "tardanza p95", "tardanza p99" (de la tardanza positiva), "tardanza max" y
+ * "planificable" (1 o 0). Con una tabla es planificable si EDF no incumple
+ * ningún plazo (EDF es óptimo en un procesador); con tareas periódicas además
+ * se reporta "utilizacion" y el análisis de {@link #planificable(List)}.
+ */
+public class EDF extends PlanificadorTabla {
+
+    private static final int SIN_PLAZO = Integer.MAX_VALUE;
+
+    /** Origen de los trabajos: filas de una tabla o liberaciones periódicas. */
+    private abstract static class Fuente {
+        /** Llegada del siguiente trabajo sin liberar; MAX_VALUE si no quedan. */
+        abstract int proximaLlegada();
+
+        /** Libera el siguiente trabajo y devuelve su ranura. */
+        abstract int liberar();
+
+        abstract int llegada(int ranura);
+
+        abstract int rafaga(int ranura);
+
+        abstract int vencimiento(int ranura);
+
+        /** El trabajo de la ranura ya terminó y se reportó. */
+        void terminar(int ranura) {
+        }
+    }
+
+    @Override
+    protected int ejecutar(ProcessTable tabla, SimulationSink sink) {
+        long[] orden = tabla.ordenPorLlegada();
+        Fuente f = new Fuente() {
+            int cursor;
+
+            @Override
+            int proximaLlegada() {
+                return cursor < orden.length ? LongHeap.clave(orden[cursor]) : Integer.MAX_VALUE;
+            }
+
+            @Override
+            int liberar() {
+                return LongHeap.indice(orden[cursor++]);
+            }
+
+            @Override
+            int llegada(int ranura) { return tabla.llegada(ranura); }
+
+            @Override
+            int rafaga(int ranura) { return tabla.rafaga(ranura); }
+
+            @Override
+            int vencimiento(int ranura) {
+                int plazo = tabla.plazo(ranura);
+                return plazo == 0 ? SIN_PLAZO : sumar(tabla.llegada(ranura), plazo);
+            }
+        };
+        return correr(f, sink, true);
+    }
+
+    /**
+     * Simula en modo streaming los trabajos que {@code tareas} liberan antes de
+     * {@code horizonte}; cada trabajo se llama "id#k" (k desde 0). Corre hasta
+     * que terminan todos los liberados.
+     */
+    public SimulationResult simular(List<TareaPeriodica> tareas, int horizonte,
+                                    Consumer<Segment> segmentos, BiConsumer<String, Metrics> terminados) {
+        FuentePeriodica f = new FuentePeriodica(tareas, horizonte);
+        MetricsSummary resumen = new MetricsSummary();
+        UsoCpu usoCpu = new UsoCpu();
+        Map<String, Double> extras = new LinkedHashMap<>();
+        int tiempo = correr(f, new SimulationSink() {
+            @Override
+            public void segmento(int ranura, int inicio, int fin) {
+                usoCpu.registrar(ranura < 0 ? ranura : f.serie(ranura), inicio, fin);
+                segmentos.accept(new Segment(ranura < 0 ? "IDLE" : f.nombre(ranura), inicio, fin));
+            }
+
+            @Override
+            public void terminado(int ranura, int espera, int respuesta, int turnaround) {
+                resumen.registrar(espera, respuesta, turnaround);
+                terminados.accept(f.nombre(ranura), new Metrics(espera, respuesta, turnaround));
+            }
+
+            @Override
+            public void extra(String nombre, double valor) {
+                extras.put(nombre, valor);
+            }
+        }, planificable(tareas));
+        SimulationResult r = new SimulationResult(Collections.emptyList(), Collections.emptyMap(), tiempo, resumen, usoCpu);
+        extras.forEach(r::agregarExtra);
+        r.agregarExtra("utilizacion", utilizacion(tareas));
+        r.agregarExtra("trabajos", f.liberados);
+        return r;
+    }
+
+    /**
+     * Núcleo común. {@code analisis} dice si el conjunto es planificable según
+     * el análisis previo (la tabla no tiene uno: decide solo la simulación).
+     */
+    private int correr(Fuente f, SimulationSink sink, boolean analisis) {
+        int[] restante = new int[16];
+        int[] inicio = new int[16];
+        LongHeap listos = new LongHeap();
+        Distribucion tardanzas = new Distribucion();
+        long incumplidos = 0;
+        long tardanzaMax = Long.MIN_VALUE;
+
+        int tiempo = 0;
+        int actual = -1;
+        int desde = 0;
+
+        while (true) {
+            if (actual == -1 && listos.isEmpty()) {
+                int prox = f.proximaLlegada();
+                if (prox == Integer.MAX_VALUE) break;
+                if (prox > tiempo) {
+                    sink.segmento(SimulationSink.IDLE, tiempo, prox);
+                    tiempo = prox;
+                }
+            }
+            while (f.proximaLlegada() <= tiempo) {
+                int r = f.liberar();
+                if (r >= restante.length) {
+                    int c = Math.max(r + 1, restante.length * 2);
+                    restante = Arrays.copyOf(restante, c);
+                    inicio = Arrays.copyOf(inicio, c);
+                }
+                restante[r] = f.rafaga(r);
+                inicio[r] = -1;
+                listos.add(LongHeap.empaquetar(f.vencimiento(r), r));
+            }
+
+            if (actual != -1 && !listos.isEmpty()
+                    && LongHeap.clave(listos.peek()) < f.vencimiento(actual)) {
+                sink.segmento(actual, desde, tiempo);
+                listos.add(LongHeap.empaquetar(f.vencimiento(actual), actual));
+                actual = -1;
+            }
+            if (actual == -1) {
+                actual = LongHeap.indice(listos.poll());
+                desde = tiempo;
+                if (inicio[actual] == -1) inicio[actual] = tiempo;
+            }
+
+            int fin = (int) Math.min((long) tiempo + restante[actual], f.proximaLlegada());
+            restante[actual] -= fin - tiempo;
+            tiempo = fin;
+
+            if (restante[actual] == 0) {
+                sink.segmento(actual, desde, tiempo);
+                int llegada = f.llegada(actual);
+                int turnaround = tiempo - llegada;
+                sink.terminado(actual, turnaround - f.rafaga(actual), inicio[actual] - llegada, turnaround);
+                int vence = f.vencimiento(actual);
+                if (vence != SIN_PLAZO) {
+                    int tardanza = tiempo - vence;
+                    sink.extra("tardanza", actual, tardanza);
+                    tardanzas.registrar(Math.max(0, tardanza));
+                    tardanzaMax = Math.max(tardanzaMax, tardanza);
+                    if (tardanza > 0) incumplidos++;
+                }
+                f.terminar(actual);
+                actual = -1;
+            }
+        }
+
+        sink.extra("plazos incumplidos", incumplidos);
+        if (tardanzas.getConteo() > 0) {
+            sink.extra("tardanza p50", tardanzas.percentil(50));
+            sink.extra("tardanza p95", tardanzas.percentil(95));
+            sink.extra("tardanza p99", tardanzas.percentil(99));
+            sink.extra("tardanza max", tardanzaMax);
+        }
+        sink.extra("planificable", incumplidos == 0 && analisis ? 1 : 0);
+        return tiempo;
+    }
+
+    private static int sumar(int a, int b) {
+        return (int) Math.min((long) a + b, SIN_PLAZO - 1);
+    }
+
+    /** Liberaciones perezosas: un evento por tarea en el calendario y ranuras recicladas. */
+    private static final class FuentePeriodica extends Fuente {
+        private final List<TareaPeriodica> tareas;
+        private final int horizonte;
+        private final LongHeap calendario = new LongHeap();
+        private final IntDeque libres = new IntDeque();
+        private int[] tarea = new int[16];
+        private int[] numero = new int[16];
+        private int[] llegada = new int[16];
+        private int[] serie = new int[16];
+        private int[] proximoNumero;
+        private int ranuras;
+        long liberados;
+
+        FuentePeriodica(List<TareaPeriodica> tareas, int horizonte) {
+            this.tareas = tareas;
+            this.horizonte = horizonte;
+            this.proximoNumero = new int[tareas.size()];
+            for (int i = 0; i < tareas.size(); i++) {
+                if (tareas.get(i).getFase() < horizonte) {
+                    calendario.add(LongHeap.empaquetar(tareas.get(i).getFase(), i));
+                }
+            }
+        }
+
+        /** Número de trabajo no negativo que no se repite al reciclar ranuras. */
+        int serie(int ranura) {
+            return serie[ranura];
+        }
+
+        String nombre(int ranura) {
+            return tareas.get(tarea[ranura]).getId() + "#" + numero[ranura];
+        }
+
+        @Override
+        int proximaLlegada() {
+            return calendario.isEmpty() ? Integer.MAX_VALUE : LongHeap.clave(calendario.peek());
+        }
+
+        @Override
+        int liberar() {
+            long ev = calendario.poll();
+            int t = LongHeap.indice(ev);
+            int ahora = LongHeap.clave(ev);
+            long siguiente = (long) ahora + tareas.get(t).getPeriodo();
+            if (siguiente < horizonte) calendario.add(LongHeap.empaquetar((int) siguiente, t));
+
+            int r;
+            if (!libres.isEmpty()) {
+                r = libres.pollLast();
+            } else {
+                r = ranuras++;
+                if (r == tarea.length) {
+                    tarea = Arrays.copyOf(tarea, r * 2);
+                    numero = Arrays.copyOf(numero, r * 2);
+                    llegada = Arrays.copyOf(llegada, r * 2);
+                    serie = Arrays.copyOf(serie, r * 2);
+                }
+            }
+            tarea[r] = t;
+            numero[r] = proximoNumero[t]++;
+            llegada[r] = ahora;
+            serie[r] = (int) (liberados & Integer.MAX_VALUE);
+            liberados++;
+            return r;
+        }
+
+        @Override
+        int llegada(int ranura) { return llegada[ranura]; }
+
+        @Override
+        int rafaga(int ranura) { return tareas.get(tarea[ranura]).getCosto(); }
+
+        @Override
+        int vencimiento(int ranura) { return sumar(llegada[ranura], tareas.get(tarea[ranura]).getPlazo()); }
+
+        @Override
+        void terminar(int ranura) {
+            libres.addLast(ranura);
+        }
+    }
+
+    /** Utilización total: suma de costo / periodo. */
+    public static double utilizacion(List<TareaPeriodica> tareas) {
+        double u = 0;
+        for (TareaPeriodica t : tareas) u += t.getUtilizacion();
+        return u;
+    }
+
+    /**
+     * Prueba exacta de planificabilidad EDF para el caso síncrono (todas las
+     * fases en 0, el peor caso; con fases es una condición suficiente).
+     * - U > 1: no planificable.
+     * - Plazos >= periodos: planificable si U <= 1.
+     * - Plazos menores: prueba de demanda de procesador h(t) <= t con QPA
+     *   (Zhang y Burns), que solo evalúa unos pocos vencimientos.
+     */
+    public static boolean planificable(List<TareaPeriodica> tareas) {
+        if (tareas.isEmpty()) return true;
+        double u = utilizacion(tareas);
+        if (u > 1 + 1e-12) return false;
+        boolean plazosImplicitos = true;
+        long dMin = Long.MAX_VALUE;
+        long dMax = 0;
+        double extra = 0;
+        for (TareaPeriodica t : tareas) {
+            if (t.getPlazo() < t.getPeriodo()) plazosImplicitos = false;
+            dMin = Math.min(dMin, t.getPlazo());
+            dMax = Math.max(dMax, t.getPlazo());
+            extra += (double) (t.getPeriodo() - t.getPlazo()) * t.getUtilizacion();
+        }
+        if (plazosImplicitos) return true;
+
+        long limite = periodoOcupado(tareas);
+        if (u < 1) limite = Math.min(limite, Math.max(dMax, (long) Math.ceil(extra / (1 - u))));
+
+        long t = vencimientoAnterior(tareas, limite + 1);
+        long h = demanda(tareas, t);
+        while (h <= t && h > dMin) {
+            t = h < t ? h : vencimientoAnterior(tareas, t);
+            h = demanda(tareas, t);
+        }
+        return h <= dMin;
+    }
+
+    /** h(t): trabajo con liberación y vencimiento dentro de [0, t]. */
+    private static long demanda(List<TareaPeriodica> tareas, long t) {
+        long h = 0;
+        for (TareaPeriodica ta : tareas) {
+            if (t >= ta.getPlazo()) h += ((t - ta.getPlazo()) / ta.getPeriodo() + 1) * ta.getCosto();
+        }
+        return h;
+    }
+
+    /** Mayor vencimiento estrictamente menor que t (0 si no hay). */
+    private static long vencimientoAnterior(List<TareaPeriodica> tareas, long t) {
+        long d = 0;
+        for (TareaPeriodica ta : tareas) {
+            if (t > ta.getPlazo()) {
+                long k = (t - ta.getPlazo() - 1) / ta.getPeriodo();
+                d = Math.max(d, k * ta.getPeriodo() + ta.getPlazo());
+            }
+        }
+        return d;
+    }
+
+    /** Periodo ocupado síncrono: menor w > 0 con w = suma de ceil(w / T) * C. */
+    private static long periodoOcupado(List<TareaPeriodica> tareas) {
+        long w = 0;
+        for (TareaPeriodica t : tareas) w += t.getCosto();
+        while (true) {
+            long sig = 0;
+            for (TareaPeriodica t : tareas) sig += (w + t.getPeriodo() - 1) / t.getPeriodo() * t.getCosto();
+            if (sig == w) return w;
+            w = sig;
+        }
+    }
+}
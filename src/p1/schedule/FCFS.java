@@ -3,11 +3,30 @@ package p1.scheduler;
 import p1.engine.Metrics;
 import p1.engine.Segment;
 import p1.engine.SimulationResult;
+import p1.engine.SimulationSink;
+import p1.model.ProcessTable;
 import p1.model.Proceso;
 
 import java.util.*;
 
-public class FCFS implements Planificador {
+/**
+ * First Come First Served. Con {@code costeCambio > 0} cobra un segmento "CS"
+ * antes de cada proceso salvo el primero de la simulación.
+ */
+public class FCFS extends PlanificadorTabla {
+
+    private final int costeCambio;
+
+    public FCFS() {
+        this(0);
+    }
+
+    public FCFS(int costeCambio) {
+        if (costeCambio < 0) throw new IllegalArgumentException("Costo de cambio no puede ser negativo");
+        this.costeCambio = costeCambio;
+    }
+
+    public int getCosteCambio() { return costeCambio; }
 
     @Override
     public SimulationResult simular(List<Proceso> procesos) {
@@ -20,6 +39,7 @@ public class FCFS implements Planificador {
         Map<String, Integer> finishTimes = new HashMap<>();
 
         int tiempo = 0;
+        Proceso ultimo = null;
 
         for (Proceso p : cola) {
             // Si la CPU está ociosa antes de que llegue el siguiente proceso, agrega segmento IDLE
@@ -27,6 +47,12 @@ public class FCFS implements Planificador {
                 timeline.add(new Segment("IDLE", tiempo, p.getLlegada()));
                 tiempo = p.getLlegada();
             }
+            // Cambio de contexto hacia un proceso distinto del último
+            if (costeCambio > 0 && ultimo != null && ultimo != p) {
+                timeline.add(new Segment("CS", tiempo, tiempo + costeCambio));
+                tiempo += costeCambio;
+            }
+            ultimo = p;
             // Comienza a ejecutar el proceso inmediatamente a su llegada o cuando la CPU esté libre
             int inicio = tiempo;
             int fin = inicio + p.getRafaga();
@@ -51,4 +77,36 @@ public class FCFS implements Planificador {
 
         return new SimulationResult(timeline, m, tiempo);
     }
+
+    /**
+     * Misma política sobre la tabla columnar: un arreglo long ordenado por
+     * (llegada, índice) reemplaza la copia ordenada de la lista y los mapas.
+     */
+    @Override
+    protected int ejecutar(ProcessTable tabla, SimulationSink sink) {
+        long[] orden = tabla.ordenPorLlegada();
+        int tiempo = 0;
+        boolean primero = true;
+
+        for (long o : orden) {
+            int i = (int) o;
+            int llegada = tabla.llegada(i);
+            if (tiempo < llegada) {
+                sink.segmento(SimulationSink.IDLE, tiempo, llegada);
+                tiempo = llegada;
+            }
+            if (costeCambio > 0 && !primero) {
+                sink.segmento(SimulationSink.CAMBIO, tiempo, tiempo + costeCambio);
+                tiempo += costeCambio;
+            }
+            primero = false;
+            int inicio = tiempo;
+            int fin = inicio + tabla.rafaga(i);
+            sink.segmento(i, inicio, fin);
+            sink.terminado(i, fin - llegada - tabla.rafaga(i), inicio - llegada, fin - llegada);
+            tiempo = fin;
+        }
+
+        return tiempo;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+package p1.scheduler;
+
+import p1.engine.ArbolFenwick;
+import p1.model.ProcessTable;
+
+import java.util.SplittableRandom;
+
+/**
+ * Planificación por lotería: en cada quantum se sortea un boleto entre los
+ * procesos listos y corre su dueño.
+ * - Los boletos de los listos viven en un {@link ArbolFenwick} indexado por
+ *   fila, así el sorteo cuesta O(log n) aunque haya un millón de procesos.
+ * - La semilla es fija (por defecto 42): la misma entrada da siempre el mismo
+ *   timeline.
+ */
+public class Loteria extends PlanificadorProporcional {
+
+    private final long semilla;
+
+    public Loteria(int quantum) {
+        this(quantum, 42L);
+    }
+
+    public Loteria(int quantum, long semilla) {
+        super(quantum);
+        this.semilla = semilla;
+    }
+
+    public long getSemilla() { return semilla; }
+
+    @Override
+    protected Reparto iniciar(ProcessTable tabla) {
+        return new Corrida(tabla);
+    }
+
+    private class Corrida extends Reparto {
+        private final ArbolFenwick boletos;
+        private final SplittableRandom azar = new SplittableRandom(semilla);
+        private final int[] propios;
+
+        Corrida(ProcessTable tabla) {
+            int n = tabla.size();
+            boletos = new ArbolFenwick(n);
+            propios = new int[n];
+            for (int i = 0; i < n; i++) {
+                propios[i] = boletos(tabla.prioridad(i));
+            }
+        }
+
+        @Override
+        protected void entrar(int fila) {
+            boletos.sumar(fila, propios[fila]);
+        }
+
+        @Override
+        protected void salir(int fila) {
+            boletos.sumar(fila, -propios[fila]);
+        }
+
+        @Override
+        protected int elegir() {
+            return boletos.buscar(azar.nextLong(boletos.total()));
+        }
+    }
+}
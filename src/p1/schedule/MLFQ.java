@@ -0,0 +1,217 @@
+package p1.scheduler;
+
+import p1.engine.SimulationSink;
+import p1.model.ProcessTable;
+
+/**
+ * Multilevel Feedback Queue.
+ * - Niveles configurables (hasta 64), cada uno con su quantum; el nivel 0 es
+ *   el de mayor prioridad y ahí entran todas las llegadas.
+ * - Un proceso que agota el quantum de su nivel baja un nivel (el último
+ *   nivel funciona como RR). Si lo expropia uno de mayor prioridad conserva
+ *   lo que lleva usado y vuelve al frente de su cola.
+ * - Cada {@code periodoBoost} unidades todos los listos regresan al nivel 0.
+ *
+ * El siguiente nivel con listos se obtiene de un bitmap long con
+ * {@link Long#numberOfTrailingZeros}, así que cada despacho es O(1) sin
+ * importar el número de niveles. Las colas son listas enlazadas intrusivas
+ * (arreglo {@code siguiente} indexado por fila), de modo que el boost solo
+ * encadena las colas de cada nivel detrás del nivel 0 en O(niveles); el nivel
+ * y el quantum usado de cada proceso se reinician de forma perezosa al
+ * despacharlo, comparando su época con la del último boost. Con un nivel y
+ * sin boost el resultado es el de {@link RRIndexado}.
+ */
+public class MLFQ extends PlanificadorTabla {
+
+    private final int[] quantums;
+    private final int periodoBoost;
+
+    /** Niveles con quantum que se duplica en cada nivel: q, 2q, 4q... */
+    public MLFQ(int niveles, int quantumBase, int periodoBoost) {
+        this(quantumsDobles(niveles, quantumBase), periodoBoost);
+    }
+
+    /** @param periodoBoost cada cuánto se regresan todos al nivel 0; 0 desactiva el boost. */
+    public MLFQ(int[] quantums, int periodoBoost) {
+        if (quantums.length == 0 || quantums.length > 64) throw new IllegalArgumentException("Niveles debe estar entre 1 y 64");
+        for (int q : quantums) {
+            if (q <= 0) throw new IllegalArgumentException("Quantum debe ser > 0");
+        }
+        if (periodoBoost < 0) throw new IllegalArgumentException("Periodo de boost no puede ser negativo");
+        this.quantums = quantums.clone();
+        this.periodoBoost = periodoBoost;
+    }
+
+    private static int[] quantumsDobles(int niveles, int quantumBase) {
+        if (niveles <= 0 || niveles > 64) throw new IllegalArgumentException("Niveles debe estar entre 1 y 64");
+        int[] q = new int[niveles];
+        for (int i = 0; i < niveles; i++) {
+            q[i] = (int) Math.min(Integer.MAX_VALUE, (long) quantumBase << Math.min(i, 31));
+        }
+        return q;
+    }
+
+    @Override
+    protected int ejecutar(ProcessTable tabla, SimulationSink sink) {
+        return new Corrida(tabla, sink).ejecutar();
+    }
+
+    /** Estado de una simulación. */
+    private class Corrida {
+        private final ProcessTable tabla;
+        private final SimulationSink sink;
+        private final long[] orden;
+        private final int[] restante;
+        private final int[] usado;
+        private final int[] nivel;
+        private final int[] epoca;     // época de boost en que se encoló por última vez
+        private final int[] inicioP;
+        private final int[] siguiente; // enlace de la cola en que está cada fila
+        private final int[] cabeza = new int[quantums.length];
+        private final int[] cola = new int[quantums.length];
+        private long ocupados;         // bit i encendido si la cola del nivel i tiene listos
+        private int epocaActual;
+        private int cursor;
+
+        Corrida(ProcessTable tabla, SimulationSink sink) {
+            this.tabla = tabla;
+            this.sink = sink;
+            int n = tabla.size();
+            orden = tabla.ordenPorLlegada();
+            restante = new int[n];
+            usado = new int[n];
+            nivel = new int[n];
+            epoca = new int[n];
+            inicioP = new int[n];
+            siguiente = new int[n];
+            for (int i = 0; i < n; i++) {
+                restante[i] = tabla.rafaga(i);
+                inicioP[i] = -1;
+            }
+        }
+
+        int ejecutar() {
+            int n = tabla.size();
+            int ultimo = quantums.length - 1;
+            int tiempo = 0;
+            int terminados = 0;
+            int sigBoost = periodoBoost > 0 ? periodoBoost : Integer.MAX_VALUE;
+            int actual = -1;
+            int inicio = 0;
+
+            while (terminados < n) {
+                if (actual == -1) {
+                    if (ocupados == 0 && siguienteLlegada() > tiempo) {
+                        sink.segmento(SimulationSink.IDLE, tiempo, siguienteLlegada());
+                        tiempo = siguienteLlegada();
+                    }
+                    admitir(tiempo);
+                    if (tiempo >= sigBoost) {
+                        impulsar();
+                        sigBoost = (int) Math.min(Integer.MAX_VALUE, ((long) tiempo / periodoBoost + 1) * periodoBoost);
+                    }
+                    actual = sacar(Long.numberOfTrailingZeros(ocupados));
+                    if (epoca[actual] != epocaActual) {
+                        // Pasó un boost mientras esperaba
+                        nivel[actual] = 0;
+                        usado[actual] = 0;
+                    }
+                    inicio = tiempo;
+                    if (inicioP[actual] == -1) inicioP[actual] = tiempo;
+                }
+
+                int nv = nivel[actual];
+                int finSlice = tiempo + Math.min(quantums[nv] - usado[actual], restante[actual]);
+                // Una llegada solo expropia si el actual no está en el nivel 0
+                int sigLlegada = nv > 0 ? siguienteLlegada() : Integer.MAX_VALUE;
+                int evento = Math.min(finSlice, Math.min(sigLlegada, sigBoost));
+
+                int dt = evento - tiempo;
+                restante[actual] -= dt;
+                usado[actual] += dt;
+                tiempo = evento;
+
+                if (restante[actual] == 0) {
+                    sink.segmento(actual, inicio, tiempo);
+                    int turnaround = tiempo - tabla.llegada(actual);
+                    sink.terminado(actual, turnaround - tabla.rafaga(actual),
+                            inicioP[actual] - tabla.llegada(actual), turnaround);
+                    terminados++;
+                    actual = -1;
+                } else if (usado[actual] == quantums[nv]) {
+                    // Agotó su quantum: baja un nivel (las llegadas entran antes)
+                    sink.segmento(actual, inicio, tiempo);
+                    admitir(tiempo);
+                    nivel[actual] = Math.min(nv + 1, ultimo);
+                    usado[actual] = 0;
+                    encolar(actual, false);
+                    actual = -1;
+                } else {
+                    // Expropiación por llegada o por boost: vuelve al frente de su nivel
+                    sink.segmento(actual, inicio, tiempo);
+                    admitir(tiempo);
+                    encolar(actual, true);
+                    actual = -1;
+                }
+            }
+            return tiempo;
+        }
+
+        private int siguienteLlegada() {
+            return cursor < orden.length ? (int) (orden[cursor] >>> 32) : Integer.MAX_VALUE;
+        }
+
+        private void admitir(int tiempo) {
+            while (cursor < orden.length && (int) (orden[cursor] >>> 32) <= tiempo) {
+                int i = (int) orden[cursor++];
+                nivel[i] = 0;
+                encolar(i, false);
+            }
+        }
+
+        private void encolar(int p, boolean alFrente) {
+            int l = nivel[p];
+            epoca[p] = epocaActual;
+            if ((ocupados & (1L << l)) == 0) {
+                cabeza[l] = p;
+                cola[l] = p;
+                ocupados |= 1L << l;
+            } else if (alFrente) {
+                siguiente[p] = cabeza[l];
+                cabeza[l] = p;
+            } else {
+                siguiente[cola[l]] = p;
+                cola[l] = p;
+            }
+        }
+
+        private int sacar(int l) {
+            int p = cabeza[l];
+            if (p == cola[l]) ocupados &= ~(1L << l);
+            else cabeza[l] = siguiente[p];
+            return p;
+        }
+
+        /**
+         * Boost: encadena las colas de todos los niveles detrás del nivel 0,
+         * conservando el orden por nivel, y abre una época nueva.
+         */
+        private void impulsar() {
+            epocaActual++;
+            if (ocupados == 0) return;
+            int primero = Long.numberOfTrailingZeros(ocupados);
+            int cab = cabeza[primero];
+            int col = cola[primero];
+            long resto = ocupados & ~(1L << primero);
+            while (resto != 0) {
+                int l = Long.numberOfTrailingZeros(resto);
+                resto &= resto - 1;
+                siguiente[col] = cabeza[l];
+                col = cola[l];
+            }
+            cabeza[0] = cab;
+            cola[0] = col;
+            ocupados = 1L;
+        }
+    }
+}
@@ -1,8 +1,15 @@
 package p1.scheduler;
 
+import p1.engine.Metrics;
+import p1.engine.Segment;
 import p1.engine.SimulationResult;
+import p1.model.ProcessTable;
 import p1.model.Proceso;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public interface Planificador {
     /**
@@ -10,4 +17,34 @@ public interface Planificador {
      * Implementaremos primero FCFS.
      */
     SimulationResult simular(List<Proceso> procesos);
-}
\ No newline at end of file
+
+    /**
+     * Variante columnar: recibe la carga como {@link ProcessTable}.
+     * Por defecto materializa la lista; los planificadores con soporte
+     * columnar la sobrescriben para no crear un objeto por proceso.
+     */
+    default SimulationResult simular(ProcessTable tabla) {
+        return simular(tabla.aProcesos());
+    }
+
+    /**
+     * Variante streaming: entrega cada segmento y las métricas de cada proceso
+     * terminado a los consumidores conforme se producen, sin guardar el
+     * timeline. El resultado devuelto solo trae el tiempo final y el resumen
+     * agregado (timeline y mapa de métricas vacíos).
+     *
+     * Por defecto simula completo y luego reenvía; los planificadores basados
+     * en {@link PlanificadorTabla} emiten en vivo y su memoria queda acotada
+     * por la cola de listos, no por la longitud de la traza.
+     */
+    default SimulationResult simular(ProcessTable tabla, Consumer<Segment> segmentos,
+                                     BiConsumer<String, Metrics> terminados) {
+        SimulationResult r = simular(tabla);
+        r.getTimeline().forEach(segmentos);
+        for (Map.Entry<String, Metrics> e : r.getMetricsPorProceso().entrySet()) {
+            terminados.accept(e.getKey(), e.getValue());
+        }
+        return new SimulationResult(Collections.emptyList(), Collections.emptyMap(), r.getTiempoFinal(), r.getResumen(),
+                r.getUsoCpu());
+    }
+}
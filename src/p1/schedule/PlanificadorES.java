@@ -0,0 +1,135 @@
+package p1.scheduler;
+
+import java.io.Serializable;
+import p1.engine.CalendarioEventos;
+import p1.engine.NucleoEventos;
+import p1.engine.SimulationSink;
+import p1.model.ProcessTable;
+
+/**
+ * Planificación con ráfagas de CPU y E/S (CPU, E/S, CPU, ...) sobre el
+ * {@link NucleoEventos}, que lleva el {@link CalendarioEventos}; aquí solo se
+ * elige la política de la cola de listos.
+ * - Al terminar una ráfaga de CPU que no es la última, el proceso se bloquea
+ *   y pasa a la cola FIFO del dispositivo de E/S (uno solo); al terminar la
+ *   E/S vuelve a la cola de listos con su siguiente ráfaga de CPU.
+ * - La cola de listos sigue la política elegida: FCFS y RR con una cola FIFO,
+ *   SJF y SRTF con un montículo por (ráfaga de CPU en curso restante, fila).
+ *   SRTF expropia si el que se vuelve listo necesita estrictamente menos.
+ * - El reloj salta de evento en evento (llegadas, fin de E/S, fin de quantum,
+ *   fin de ráfaga): el costo depende del número de ráfagas, no de su duración.
+ *
+ * Además del timeline de CPU emite los periodos del dispositivo con
+ * {@link SimulationSink#entradaSalida}. La espera reportada en las métricas es
+ * solo la de la cola de listos; el tiempo bloqueado (cola del dispositivo más
+ * servicio) va en el indicador por proceso "espera E/S", con los globales
+ * "espera E/S promedio" (entre los procesos que hacen E/S) y "uso dispositivo".
+ *
+ * Sin E/S, FCFS, SJF y RR coinciden con {@link FCFS}, {@link SJFHeap} y
+ * {@link RRIndexado}, y SRTF con {@link SRTFEventos} salvo los segmentos IDLE.
+ *
+ * Todo el estado de la simulación vive en un {@link Estado} serializable:
+ * {@link #avanzar} la corre por tramos y entre tramos se puede guardar y
+ * retomar (ver {@link CorridaReanudable}) con el mismo resultado final.
+ */
+public class PlanificadorES extends PlanificadorTabla {
+
+    public enum Politica { FCFS, SJF, SRTF, RR }
+
+    private final Politica politica;
+    private final int quantum;
+
+    public PlanificadorES(Politica politica) {
+        this(politica, Integer.MAX_VALUE);
+    }
+
+    /** @param quantum solo se usa con {@link Politica#RR} */
+    public PlanificadorES(Politica politica, int quantum) {
+        if (quantum <= 0) throw new IllegalArgumentException("Quantum debe ser > 0");
+        this.politica = politica;
+        this.quantum = politica == Politica.RR ? quantum : Integer.MAX_VALUE;
+    }
+
+    public Politica getPolitica() { return politica; }
+    public int getQuantum() { return quantum; }
+
+    /**
+     * Estado completo de una simulación en curso: el {@link NucleoEventos}
+     * con su política. Entre dos llamadas a {@link #avanzar} se puede
+     * serializar y retomar con la misma tabla.
+     */
+    public static final class Estado implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final Politica politica;
+        private final int quantum;
+        private final NucleoEventos nucleo;
+
+        private Estado(Politica politica, int quantum, ProcessTable tabla) {
+            this.politica = politica;
+            this.quantum = quantum;
+            NucleoEventos.Politica cola;
+            switch (politica) {
+                case SJF:
+                    cola = NucleoEventos.menorRestante(false);
+                    break;
+                case SRTF:
+                    cola = NucleoEventos.menorRestante(true);
+                    break;
+                default:
+                    cola = NucleoEventos.fifo(quantum);
+                    break;
+            }
+            this.nucleo = new NucleoEventos(tabla, cola);
+        }
+
+        private Estado(Estado previo, NucleoEventos nucleo) {
+            this.politica = previo.politica;
+            this.quantum = previo.quantum;
+            this.nucleo = nucleo;
+        }
+
+        /** Reloj: todos los eventos anteriores a este instante ya se atendieron. */
+        public int getTiempo() { return nucleo.getTiempo(); }
+        public boolean isTerminado() { return nucleo.isTerminado(); }
+        public int size() { return nucleo.size(); }
+
+        /** Ver {@link NucleoEventos#setObservador}; no se guarda con el estado. */
+        public void setObservador(NucleoEventos.Observador observador) { nucleo.setObservador(observador); }
+    }
+
+    /** Estado inicial para simular la tabla con {@link #avanzar}. */
+    public Estado iniciar(ProcessTable tabla) {
+        return new Estado(politica, quantum, tabla);
+    }
+
+    /**
+     * Sigue un estado no terminado con una tabla que solo cambia en filas que
+     * llegan después de {@link Estado#getTiempo()}, por ejemplo la misma
+     * tabla con más filas al final (ver {@link NucleoEventos#continuarCon});
+     * el estado recibido no se debe seguir usando.
+     */
+    public Estado continuar(Estado e, ProcessTable tabla) {
+        return new Estado(e, e.nucleo.continuarCon(tabla));
+    }
+
+    @Override
+    protected int ejecutar(ProcessTable tabla, SimulationSink sink) {
+        Estado e = iniciar(tabla);
+        avanzar(e, tabla, sink, Long.MAX_VALUE, Long.MAX_VALUE);
+        return e.getTiempo();
+    }
+
+    /**
+     * Atiende los eventos anteriores a {@code hasta}, deteniéndose antes si ya
+     * atendió {@code maxEventos} y cambia el instante (nunca a mitad de un
+     * instante, así el estado siempre queda listo para guardarse). Devuelve
+     * true cuando la simulación terminó.
+     */
+    public boolean avanzar(Estado e, ProcessTable tabla, SimulationSink sink, long hasta, long maxEventos) {
+        if (e.politica != politica || e.quantum != quantum) {
+            throw new IllegalArgumentException("El estado es de otro planificador");
+        }
+        return e.nucleo.avanzar(tabla, sink, hasta, maxEventos);
+    }
+}
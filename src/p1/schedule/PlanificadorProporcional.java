@@ -0,0 +1,143 @@
+package p1.scheduler;
+
+import p1.engine.SimulationSink;
+import p1.model.ProcessTable;
+
+/**
+ * Base de los planificadores de reparto proporcional ({@link Loteria},
+ * {@link Stride}).
+ *
+ * - Cada proceso recibe boletos según su prioridad, con la misma tabla de
+ *   pesos que {@link CFS} (prioridad 0 = 1024 boletos, 19 = 15).
+ * - Se decide quién corre al inicio de cada quantum; las llegadas no
+ *   expropian.
+ * - Además de las métricas normales reporta, por proceso, la "cuota pedida"
+ *   (fracción de boletos que tuvo mientras estaba en el sistema, promediada en
+ *   el tiempo) y la "cuota lograda" (ráfaga / turnaround), y como indicador
+ *   global el "error cuota medio" (promedio de |lograda - pedida|).
+ *
+ * La cuota pedida se calcula en O(1) por evento con la integral
+ * G(t) = ∫ dt / boletosTotales(t): para el proceso i es
+ * boletos_i * (G(fin) - G(llegada)) / turnaround.
+ */
+public abstract class PlanificadorProporcional extends PlanificadorTabla {
+
+    protected final int quantum;
+
+    protected PlanificadorProporcional(int quantum) {
+        if (quantum <= 0) throw new IllegalArgumentException("Quantum debe ser > 0");
+        this.quantum = quantum;
+    }
+
+    public int getQuantum() { return quantum; }
+
+    public static int boletos(int prioridad) {
+        return CFS.peso(prioridad);
+    }
+
+    /**
+     * Estado de una corrida (quién compite y cómo se elige). {@link #ejecutar}
+     * crea uno por llamada, así el planificador no guarda nada entre corridas
+     * y se puede usar desde varios hilos a la vez.
+     */
+    protected abstract static class Reparto {
+        /** La fila entra a competir por la CPU. */
+        protected abstract void entrar(int fila);
+
+        /** La fila terminó y deja de competir. */
+        protected abstract void salir(int fila);
+
+        /** Elige la fila que corre el siguiente quantum; hay al menos una lista. */
+        protected abstract int elegir();
+
+        /** La fila usó {@code usado} unidades de CPU (a lo sumo un quantum). */
+        protected void cobrar(int fila, int usado) {
+        }
+    }
+
+    /** Crea el estado de una corrida sobre la tabla. */
+    protected abstract Reparto iniciar(ProcessTable tabla);
+
+    @Override
+    protected int ejecutar(ProcessTable tabla, SimulationSink sink) {
+        int n = tabla.size();
+        Reparto reparto = iniciar(tabla);
+        int[] restante = new int[n];
+        int[] inicio = new int[n];
+        double[] gLlegada = new double[n];
+        for (int i = 0; i < n; i++) {
+            restante[i] = tabla.rafaga(i);
+            inicio[i] = -1;
+        }
+        long[] orden = tabla.ordenPorLlegada();
+
+        double g = 0;
+        double sumaError = 0;
+        long boletosTotales = 0;
+        int listos = 0;
+        int tiempo = 0;
+        int cursor = 0;
+        int terminados = 0;
+
+        while (terminados < n) {
+            if (listos == 0) {
+                int llegada = (int) (orden[cursor] >>> 32);
+                if (llegada > tiempo) {
+                    sink.segmento(SimulationSink.IDLE, tiempo, llegada);
+                    tiempo = llegada;
+                }
+            }
+            // Llegadas hasta ahora (incluye las que coinciden con el fin del quantum anterior)
+            while (cursor < n && (int) (orden[cursor] >>> 32) <= tiempo) {
+                int i = (int) orden[cursor++];
+                gLlegada[i] = g;
+                boletosTotales += boletos(tabla.prioridad(i));
+                listos++;
+                reparto.entrar(i);
+            }
+
+            int actual = reparto.elegir();
+            if (inicio[actual] == -1) inicio[actual] = tiempo;
+            int duracion = Math.min(quantum, restante[actual]);
+            int fin = tiempo + duracion;
+
+            // Las llegadas dentro del quantum cambian los boletos totales desde su llegada
+            int t = tiempo;
+            while (cursor < n && (int) (orden[cursor] >>> 32) < fin) {
+                int llegada = (int) (orden[cursor] >>> 32);
+                int i = (int) orden[cursor++];
+                g += (double) (llegada - t) / boletosTotales;
+                t = llegada;
+                gLlegada[i] = g;
+                boletosTotales += boletos(tabla.prioridad(i));
+                listos++;
+                reparto.entrar(i);
+            }
+            g += (double) (fin - t) / boletosTotales;
+
+            sink.segmento(actual, tiempo, fin);
+            tiempo = fin;
+            restante[actual] -= duracion;
+            reparto.cobrar(actual, duracion);
+
+            if (restante[actual] == 0) {
+                int turnaround = tiempo - tabla.llegada(actual);
+                sink.terminado(actual, turnaround - tabla.rafaga(actual),
+                        inicio[actual] - tabla.llegada(actual), turnaround);
+                int b = boletos(tabla.prioridad(actual));
+                double pedida = b * (g - gLlegada[actual]) / turnaround;
+                double lograda = (double) tabla.rafaga(actual) / turnaround;
+                sink.extra("cuota pedida", actual, pedida);
+                sink.extra("cuota lograda", actual, lograda);
+                sumaError += Math.abs(lograda - pedida);
+                reparto.salir(actual);
+                boletosTotales -= b;
+                listos--;
+                terminados++;
+            }
+        }
+
+        if (n > 0) sink.extra("error cuota medio", sumaError / n);
+        return tiempo;
+    }
+}
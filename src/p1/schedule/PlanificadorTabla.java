@@ -0,0 +1,80 @@
+package p1.scheduler;
+
+import p1.engine.Metrics;
+import p1.engine.MetricsSummary;
+import p1.engine.Segment;
+import p1.engine.SimulationCollector;
+import p1.engine.SimulationResult;
+import p1.engine.SimulationSink;
+import p1.engine.UsoCpu;
+import p1.model.ProcessTable;
+import p1.model.Proceso;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Base de los planificadores que trabajan sobre {@link ProcessTable} y
+ * emiten cada evento a un {@link SimulationSink} en cuanto ocurre.
+ * Las subclases solo implementan {@link #ejecutar}; de aquí salen el modo
+ * materializado (lista o tabla) y el modo streaming.
+ */
+public abstract class PlanificadorTabla implements Planificador {
+
+    /**
+     * Corre la simulación completa enviando segmentos y finalizaciones al
+     * receptor. Devuelve el tiempo final.
+     */
+    protected abstract int ejecutar(ProcessTable tabla, SimulationSink sink);
+
+    /** Orden de las métricas en el modo materializado: filas (true) o finalización (false). */
+    protected boolean metricasEnOrdenDeEntrada() {
+        return false;
+    }
+
+    @Override
+    public SimulationResult simular(List<Proceso> procesos) {
+        return simular(ProcessTable.de(procesos));
+    }
+
+    @Override
+    public SimulationResult simular(ProcessTable tabla) {
+        SimulationCollector c = new SimulationCollector(tabla, metricasEnOrdenDeEntrada());
+        int tiempo = ejecutar(tabla, c);
+        return c.resultado(tiempo);
+    }
+
+    @Override
+    public SimulationResult simular(ProcessTable tabla, Consumer<Segment> segmentos,
+                                    BiConsumer<String, Metrics> terminados) {
+        MetricsSummary resumen = new MetricsSummary();
+        UsoCpu usoCpu = new UsoCpu();
+        Map<String, Double> extras = new LinkedHashMap<>();
+        int tiempo = ejecutar(tabla, new SimulationSink() {
+            @Override
+            public void segmento(int proceso, int inicio, int fin) {
+                usoCpu.registrar(proceso, inicio, fin);
+                segmentos.accept(new Segment(SimulationSink.etiqueta(tabla, proceso), inicio, fin));
+            }
+
+            @Override
+            public void terminado(int proceso, int espera, int respuesta, int turnaround) {
+                resumen.registrar(espera, respuesta, turnaround);
+                terminados.accept(tabla.id(proceso), new Metrics(espera, respuesta, turnaround));
+            }
+
+            @Override
+            public void extra(String nombre, double valor) {
+                extras.put(nombre, valor);
+            }
+        });
+        // Los indicadores por proceso no se guardan en streaming; los globales sí
+        SimulationResult r = new SimulationResult(Collections.emptyList(), Collections.emptyMap(), tiempo, resumen, usoCpu);
+        extras.forEach(r::agregarExtra);
+        return r;
+    }
+}
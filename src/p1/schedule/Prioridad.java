@@ -0,0 +1,126 @@
+package p1.scheduler;
+
+import p1.engine.IndexedHeap;
+import p1.engine.LongHeap;
+import p1.engine.NucleoEventos;
+import p1.engine.SimulationSink;
+import p1.model.ProcessTable;
+
+/**
+ * Planificación por prioridad (menor número = mayor prioridad), expropiativa
+ * o no, con envejecimiento, sobre el {@link NucleoEventos}.
+ *
+ * - Los listos viven en un {@link IndexedHeap} con clave (prioridad efectiva,
+ *   orden de llegada): a igual prioridad se atiende en orden de llegada.
+ * - Envejecimiento: por cada {@code intervaloEnvejecimiento} unidades que un
+ *   proceso pasa en la cola, su prioridad efectiva mejora en 1 (hasta 0). Cada
+ *   paso es un temporizador en el calendario del núcleo y se aplica con
+ *   decrease-key, O(log n), sin recorrer la cola. Conserva la prioridad ganada
+ *   mientras ejecuta y vuelve a su prioridad base si regresa a la cola.
+ * - En modo expropiativo, una llegada o un envejecimiento que deja a un
+ *   listo con prioridad estrictamente mejor que la del proceso en ejecución
+ *   lo expropia; el expropiado vuelve a la cola.
+ * - Con ráfagas de E/S el proceso se bloquea como en {@link PlanificadorES} y
+ *   al volver entra a la cola con su prioridad base.
+ */
+public class Prioridad extends PlanificadorTabla {
+
+    private final boolean expropiativo;
+    private final int intervaloEnvejecimiento;
+
+    public Prioridad(boolean expropiativo) {
+        this(expropiativo, 0);
+    }
+
+    /** @param intervaloEnvejecimiento unidades de espera por cada nivel ganado; 0 desactiva el envejecimiento. */
+    public Prioridad(boolean expropiativo, int intervaloEnvejecimiento) {
+        if (intervaloEnvejecimiento < 0) throw new IllegalArgumentException("Intervalo de envejecimiento no puede ser negativo");
+        this.expropiativo = expropiativo;
+        this.intervaloEnvejecimiento = intervaloEnvejecimiento;
+    }
+
+    @Override
+    protected int ejecutar(ProcessTable tabla, SimulationSink sink) {
+        NucleoEventos nucleo = new NucleoEventos(tabla, new Cola(expropiativo, intervaloEnvejecimiento));
+        nucleo.avanzar(tabla, sink, Long.MAX_VALUE, Long.MAX_VALUE);
+        return nucleo.getTiempo();
+    }
+
+    private static final class Cola implements NucleoEventos.Politica {
+        private static final long serialVersionUID = 1L;
+
+        private final boolean expropiativo;
+        private final int intervalo;
+        private NucleoEventos.Agenda agenda;
+        private int[] prioridad;
+        private int[] rango;        // posición en el orden de llegada (desempate)
+        private int[] prioEf;
+        private int[] proxEnv;      // hora del envejecimiento pendiente válido
+        private IndexedHeap listos;
+
+        Cola(boolean expropiativo, int intervalo) {
+            this.expropiativo = expropiativo;
+            this.intervalo = intervalo;
+        }
+
+        @Override
+        public void iniciar(ProcessTable tabla, NucleoEventos.Agenda agenda) {
+            int n = tabla.size();
+            long[] orden = tabla.ordenPorLlegada();
+            int[] rango = new int[n];
+            int[] prioridad = new int[n];
+            int[] prioEf = new int[n];
+            int[] proxEnv = new int[n];
+            IndexedHeap listos = new IndexedHeap(n);
+            for (int k = 0; k < n; k++) rango[LongHeap.indice(orden[k])] = k;
+            for (int i = 0; i < n; i++) {
+                prioridad[i] = tabla.prioridad(i);
+                prioEf[i] = prioridad[i];
+                // Al retomar con otra tabla, las filas que ya llegaron siguen como estaban
+                if (this.listos != null && i < this.prioEf.length && tabla.llegada(i) <= agenda.getTiempo()) {
+                    prioEf[i] = this.prioEf[i];
+                    proxEnv[i] = this.proxEnv[i];
+                    if (this.listos.contains(i)) listos.add(i, this.listos.clave(i));
+                }
+            }
+            this.agenda = agenda;
+            this.rango = rango;
+            this.prioridad = prioridad;
+            this.prioEf = prioEf;
+            this.proxEnv = proxEnv;
+            this.listos = listos;
+        }
+
+        @Override
+        public void listo(int fila, int restante, int motivo) {
+            prioEf[fila] = prioridad[fila];
+            listos.add(fila, LongHeap.empaquetar(prioEf[fila], rango[fila]));
+            if (intervalo > 0 && prioEf[fila] > 0) programar(fila, agenda.getTiempo());
+        }
+
+        @Override public boolean isEmpty() { return listos.isEmpty(); }
+        @Override public int siguiente() { return listos.poll(); }
+
+        @Override
+        public boolean expropia(int fila, int restante, int actual, int queda) {
+            return expropiativo && prioEf[fila] < prioEf[actual];
+        }
+
+        @Override
+        public boolean temporizador(int fila, int actual, int queda) {
+            int t = agenda.getTiempo();
+            if (!listos.contains(fila) || proxEnv[fila] != t) return false;   // ya no espera o evento viejo
+            prioEf[fila]--;
+            listos.decreaseKey(fila, LongHeap.empaquetar(prioEf[fila], rango[fila]));
+            if (prioEf[fila] > 0) programar(fila, t);
+            return expropiativo && actual != -1 && prioEf[fila] < prioEf[actual];
+        }
+
+        private void programar(int fila, int tiempo) {
+            long t = (long) tiempo + intervalo;
+            if (t > Integer.MAX_VALUE) return;
+            proxEnv[fila] = (int) t;
+            agenda.programar((int) t, fila);
+        }
+    }
+}
@@ -4,17 +4,34 @@ package p1.schedule;
 import p1.engine.Metrics;
 import p1.engine.Segment;
 import p1.engine.SimulationResult;
+import p1.model.ProcessTable;
 import p1.model.Proceso;
 
 import java.util.*;
 import p1.scheduler.Planificador;
-
+import p1.scheduler.RRIndexado;
+
+/**
+ * Round Robin de referencia: IDLE de a una unidad y un segmento por quantum.
+ * Con {@link ProcessTable} simula la lista materializada (lo que hace
+ * {@link Planificador} por defecto), así el timeline no depende de la
+ * sobrecarga; la versión optimizada, que agrupa el IDLE y da las mismas
+ * métricas, es {@link RRIndexado}.
+ */
 public class RR implements Planificador {
 
     private final int quantum;
+    private final int costeCambio;
 
     public RR(int quantum) {
+        this(quantum, 0);
+    }
+
+    /** @param costeCambio duración del segmento "CS" al despachar un proceso distinto del último */
+    public RR(int quantum, int costeCambio) {
+        if (costeCambio < 0) throw new IllegalArgumentException("Costo de cambio no puede ser negativo");
         this.quantum = quantum;
+        this.costeCambio = costeCambio;
     }
 
     @Override
@@ -35,6 +52,7 @@ public class RR implements Planificador {
 
         int tiempo = 0;
         int index = 0;
+        String ultimo = null;
 
         while (!cola.isEmpty() || index < procesos.size()) {
             while (index < procesos.size() && procesos.get(index).getLlegada() <= tiempo) {
@@ -50,6 +68,11 @@ public class RR implements Planificador {
 
             Proceso actual = cola.poll();
             String pid = actual.getId();
+            if (costeCambio > 0 && ultimo != null && !ultimo.equals(pid)) {
+                timeline.add(new Segment("CS", tiempo, tiempo + costeCambio));
+                tiempo += costeCambio;
+            }
+            ultimo = pid;
             int restanteActual = restante.get(pid);
             int duracion = Math.min(quantum, restanteActual);
 
@@ -0,0 +1,114 @@
+package p1.scheduler;
+
+import p1.engine.LongHeap;
+import p1.engine.SimulationSink;
+import p1.model.ProcessTable;
+
+/**
+ * Round Robin con estado por índice.
+ * - El estado de cada proceso (restante, primer inicio) vive en arreglos int
+ *   indexados por su posición en la lista de entrada, sin mapas ni boxing.
+ * - La cola de listos es un buffer circular de int con capacidad n (cada
+ *   proceso está a lo sumo una vez en la cola).
+ * - Si la CPU queda ociosa se salta directo a la siguiente llegada con un
+ *   único segmento IDLE, en lugar de uno por unidad de tiempo.
+ * - La lista recibida no se modifica.
+ * - Opcionalmente cobra un costo de cambio de contexto (segmento "CS") cada
+ *   vez que despacha un proceso distinto al último que usó la CPU; el primer
+ *   despacho de la simulación es gratis. Con costo 0 no se emite nada extra.
+ *
+ * Fuera de los segmentos IDLE agrupados (y de los quantums seguidos del mismo
+ * proceso, que {@link p1.engine.Timeline} fusiona), el timeline y las métricas
+ * coinciden con {@link p1.schedule.RR}.
+ */
+public class RRIndexado extends PlanificadorTabla {
+
+    private final int quantum;
+    private final int costeCambio;
+
+    public RRIndexado(int quantum) {
+        this(quantum, 0);
+    }
+
+    public RRIndexado(int quantum, int costeCambio) {
+        if (quantum <= 0) throw new IllegalArgumentException("Quantum debe ser > 0");
+        if (costeCambio < 0) throw new IllegalArgumentException("Costo de cambio no puede ser negativo");
+        this.quantum = quantum;
+        this.costeCambio = costeCambio;
+    }
+
+    public int getQuantum() { return quantum; }
+    public int getCosteCambio() { return costeCambio; }
+
+    @Override
+    protected int ejecutar(ProcessTable tabla, SimulationSink sink) {
+        int n = tabla.size();
+        int[] restante = new int[n];
+        int[] inicio = new int[n];
+        for (int i = 0; i < n; i++) {
+            restante[i] = tabla.rafaga(i);
+            inicio[i] = -1;
+        }
+
+        // Orden por llegada (si igual, orden de aparición), sin tocar la entrada
+        long[] orden = tabla.ordenPorLlegada();
+
+        int[] cola = new int[Math.max(1, n)];
+        int cabeza = 0;
+        int enCola = 0;
+
+        int tiempo = 0;
+        int cursor = 0;
+        int ultimo = -1;
+
+        while (enCola > 0 || cursor < n) {
+            while (cursor < n && LongHeap.clave(orden[cursor]) <= tiempo) {
+                cola[(cabeza + enCola++) % cola.length] = LongHeap.indice(orden[cursor++]);
+            }
+
+            if (enCola == 0) {
+                int siguienteLlegada = LongHeap.clave(orden[cursor]);
+                sink.segmento(SimulationSink.IDLE, tiempo, siguienteLlegada);
+                tiempo = siguienteLlegada;
+                continue;
+            }
+
+            int actual = cola[cabeza];
+            cabeza = (cabeza + 1) % cola.length;
+            enCola--;
+
+            if (costeCambio > 0 && ultimo != -1 && ultimo != actual) {
+                sink.segmento(SimulationSink.CAMBIO, tiempo, tiempo + costeCambio);
+                tiempo += costeCambio;
+            }
+            ultimo = actual;
+
+            int duracion = Math.min(quantum, restante[actual]);
+            sink.segmento(actual, tiempo, tiempo + duracion);
+
+            if (inicio[actual] == -1) {
+                inicio[actual] = tiempo;
+            }
+
+            tiempo += duracion;
+            restante[actual] -= duracion;
+
+            // Agregar nuevos procesos que llegaron durante la ejecución
+            while (cursor < n && LongHeap.clave(orden[cursor]) <= tiempo) {
+                cola[(cabeza + enCola++) % cola.length] = LongHeap.indice(orden[cursor++]);
+            }
+
+            // Si el proceso no ha terminado, vuelve a la cola
+            if (restante[actual] > 0) {
+                cola[(cabeza + enCola++) % cola.length] = actual;
+            } else {
+                int turnaround = tiempo - tabla.llegada(actual);
+                int espera = turnaround - tabla.rafaga(actual);
+                int respuesta = inicio[actual] - tabla.llegada(actual);
+                sink.terminado(actual, espera, respuesta, turnaround);
+            }
+        }
+
+        return tiempo;
+    }
+}
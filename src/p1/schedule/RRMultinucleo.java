@@ -0,0 +1,231 @@
+package p1.scheduler;
+
+import p1.engine.IntDeque;
+import p1.engine.LongHeap;
+import p1.engine.MultiCoreResult;
+import p1.engine.Segment;
+import p1.engine.SimulationCollector;
+import p1.engine.SimulationResult;
+import p1.engine.SimulationSink;
+import p1.engine.Timeline;
+import p1.model.ProcessTable;
+import p1.model.Proceso;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Round Robin con varios núcleos y una cola de listos por núcleo.
+ *
+ * - Cada llegada va al núcleo menos cargado (uno ocioso si lo hay; si no, el
+ *   de cola más corta, desempate por número de núcleo).
+ * - Cada núcleo atiende su cola con RR de quantum fijo; un quantum
+ *   {@code Integer.MAX_VALUE} equivale a FCFS por núcleo.
+ * - Con robo de trabajo, un núcleo que se queda sin listos toma el último
+ *   proceso de la cola más larga (migración). En cada instante roban solo
+ *   después de que todos los núcleos ociosos tomaron de su propia cola. Cada
+ *   migración puede cobrar un costo, que se ve como segmento "CS" en el
+ *   timeline del núcleo que roba.
+ *
+ * Es dirigido por eventos: un montículo (fin de quantum, núcleo) y un cursor de
+ * llegadas; los núcleos ociosos se llevan en un bitmap, así que cada evento
+ * solo toca los núcleos involucrados salvo al buscar víctima de robo.
+ */
+public class RRMultinucleo implements Planificador {
+
+    private final int nucleos;
+    private final int quantum;
+    private final boolean robo;
+    private final int costeMigracion;
+
+    public RRMultinucleo(int nucleos, int quantum) {
+        this(nucleos, quantum, true, 0);
+    }
+
+    public RRMultinucleo(int nucleos, int quantum, boolean robo, int costeMigracion) {
+        if (nucleos <= 0) throw new IllegalArgumentException("Núcleos debe ser > 0");
+        if (quantum <= 0) throw new IllegalArgumentException("Quantum debe ser > 0");
+        if (costeMigracion < 0) throw new IllegalArgumentException("Costo de migración no puede ser negativo");
+        this.nucleos = nucleos;
+        this.quantum = quantum;
+        this.robo = robo;
+        this.costeMigracion = costeMigracion;
+    }
+
+    @Override
+    public SimulationResult simular(List<Proceso> procesos) {
+        return simular(ProcessTable.de(procesos));
+    }
+
+    @Override
+    public MultiCoreResult simular(ProcessTable tabla) {
+        return new Corrida(tabla).ejecutar();
+    }
+
+    /** Estado de una simulación; una instancia por llamada. */
+    private class Corrida {
+        private final ProcessTable tabla;
+        private final SimulationCollector metricas;
+        private final int[] restante;
+        private final int[] inicioP;
+        private final IntDeque[] colas = new IntDeque[nucleos];
+        private final int[] enEjecucion = new int[nucleos];
+        private final int[] libreDesde = new int[nucleos];
+        private final long[] ocupado = new long[nucleos];
+        private final Timeline[] timelines = new Timeline[nucleos];
+        private final long[] ociosos = new long[(nucleos + 63) / 64];
+        private final LongHeap eventos = new LongHeap(nucleos);
+        private int enCola;
+        private int migraciones;
+
+        Corrida(ProcessTable tabla) {
+            this.tabla = tabla;
+            this.metricas = new SimulationCollector(tabla, false);
+            int n = tabla.size();
+            restante = new int[n];
+            inicioP = new int[n];
+            for (int i = 0; i < n; i++) {
+                restante[i] = tabla.rafaga(i);
+                inicioP[i] = -1;
+            }
+            for (int c = 0; c < nucleos; c++) {
+                colas[c] = new IntDeque();
+                enEjecucion[c] = -1;
+                timelines[c] = new Timeline(tabla);
+                ociosos[c >>> 6] |= 1L << c;
+            }
+        }
+
+        MultiCoreResult ejecutar() {
+            int n = tabla.size();
+            long[] orden = tabla.ordenPorLlegada();
+            int[] terminan = new int[nucleos];
+            int cursor = 0;
+            int terminados = 0;
+            int tiempo = 0;
+
+            while (terminados < n) {
+                int sigEvento = eventos.isEmpty() ? Integer.MAX_VALUE : LongHeap.clave(eventos.peek());
+                int sigLlegada = cursor < n ? LongHeap.clave(orden[cursor]) : Integer.MAX_VALUE;
+                tiempo = Math.min(sigEvento, sigLlegada);
+
+                // 1) Núcleos cuyo quantum vence ahora
+                int k = 0;
+                while (!eventos.isEmpty() && LongHeap.clave(eventos.peek()) == tiempo) {
+                    terminan[k++] = LongHeap.indice(eventos.poll());
+                }
+
+                // 2) Llegadas (antes de reencolar, igual que RR de un núcleo)
+                while (cursor < n && LongHeap.clave(orden[cursor]) <= tiempo) {
+                    colas[elegirNucleo()].addLast(LongHeap.indice(orden[cursor++]));
+                    enCola++;
+                }
+
+                // 3) Fin de quantum: terminar o volver a la cola de su núcleo
+                for (int j = 0; j < k; j++) {
+                    int c = terminan[j];
+                    int p = enEjecucion[c];
+                    enEjecucion[c] = -1;
+                    ociosos[c >>> 6] |= 1L << c;
+                    if (restante[p] == 0) {
+                        int turnaround = tiempo - tabla.llegada(p);
+                        metricas.terminado(p, turnaround - tabla.rafaga(p), inicioP[p] - tabla.llegada(p), turnaround);
+                        terminados++;
+                    } else {
+                        colas[c].addLast(p);
+                        enCola++;
+                    }
+                }
+
+                // 4) Despachar en todos los núcleos ociosos: primero cada uno de su
+                // cola y después roban los que sigan sin trabajo, así nadie le quita
+                // a un núcleo ocioso lo que acaba de volver a su cola
+                for (int w = 0; w < ociosos.length; w++) {
+                    long bits = ociosos[w];
+                    while (bits != 0) {
+                        int c = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                        if (!colas[c].isEmpty()) despachar(c, tiempo);
+                    }
+                }
+                for (int w = 0; w < ociosos.length && robo && enCola > 0; w++) {
+                    long bits = ociosos[w];
+                    while (bits != 0) {
+                        int c = (w << 6) + Long.numberOfTrailingZeros(bits);
+                        bits &= bits - 1;
+                        despachar(c, tiempo);
+                    }
+                }
+            }
+
+            List<List<Segment>> lista = new ArrayList<>(nucleos);
+            for (Timeline t : timelines) lista.add(t);
+            SimulationResult r = metricas.resultado(tiempo);
+            return new MultiCoreResult(lista, r.getMetricsPorProceso(), tiempo, r.getResumen(), ocupado, migraciones);
+        }
+
+        private int elegirNucleo() {
+            for (int w = 0; w < ociosos.length; w++) {
+                long bits = ociosos[w];
+                while (bits != 0) {
+                    int c = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (colas[c].isEmpty()) return c;
+                }
+            }
+            int mejor = 0;
+            int carga = Integer.MAX_VALUE;
+            for (int c = 0; c < nucleos; c++) {
+                int l = colas[c].size() + (enEjecucion[c] != -1 ? 1 : 0);
+                if (l < carga) {
+                    carga = l;
+                    mejor = c;
+                }
+            }
+            return mejor;
+        }
+
+        private void despachar(int c, int tiempo) {
+            int p;
+            int inicio = tiempo;
+            if (!colas[c].isEmpty()) {
+                p = colas[c].pollFirst();
+            } else if (robo && enCola > 0) {
+                int victima = -1;
+                for (int v = 0; v < nucleos; v++) {
+                    if (colas[v].size() > 0 && (victima == -1 || colas[v].size() > colas[victima].size())) victima = v;
+                }
+                p = colas[victima].pollLast();
+                migraciones++;
+                if (costeMigracion > 0) {
+                    cerrarOcio(c, tiempo);
+                    timelines[c].agregar(SimulationSink.CAMBIO, tiempo, tiempo + costeMigracion);
+                    inicio += costeMigracion;
+                    libreDesde[c] = inicio;
+                }
+            } else {
+                return;
+            }
+            enCola--;
+            cerrarOcio(c, inicio);
+
+            if (inicioP[p] == -1) inicioP[p] = inicio;
+            int duracion = Math.min(quantum, restante[p]);
+            restante[p] -= duracion;
+            int fin = inicio + duracion;
+            timelines[c].agregar(p, inicio, fin);
+            ocupado[c] += duracion;
+            libreDesde[c] = fin;
+            enEjecucion[c] = p;
+            ociosos[c >>> 6] &= ~(1L << c);
+            eventos.add(LongHeap.empaquetar(fin, c));
+        }
+
+        private void cerrarOcio(int c, int hasta) {
+            if (libreDesde[c] < hasta) {
+                timelines[c].agregar(SimulationSink.IDLE, libreDesde[c], hasta);
+                libreDesde[c] = hasta;
+            }
+        }
+    }
+}
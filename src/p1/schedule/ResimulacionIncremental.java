@@ -0,0 +1,262 @@
+package p1.scheduler;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import p1.engine.SimulationCollector;
+import p1.engine.SimulationResult;
+import p1.engine.SimulationSink;
+import p1.model.ProcessTable;
+
+/**
+ * Re-simulación incremental de un {@link PlanificadorES} para cuando la tabla
+ * cambia poco entre corridas (agregar, quitar o editar procesos).
+ * - Durante cada corrida guarda puntos de control periódicos del
+ *   {@link PlanificadorES.Estado} (serializado) y un registro compacto de lo
+ *   que se emitió al receptor.
+ * - En la siguiente, busca la fila modificada que llega primero y retoma
+ *   desde el último punto anterior a esa llegada: el registro se corta ahí y
+ *   se le pega la cola nueva. Antes de esa llegada nada cambia, así el
+ *   resultado es el mismo que una corrida desde t = 0.
+ * - Solo cuentan la llegada y las ráfagas de cada fila; cambiar ids o
+ *   prioridades no obliga a re-simular.
+ * - Si cambia la política o el quantum, corre de nuevo desde el principio.
+ *
+ * La tabla pasada a {@link #simular} no se debe modificar después; para un
+ * cambio se pasa una tabla nueva.
+ */
+public class ResimulacionIncremental {
+
+    private int puntos = 16;
+    private long eventosMinimos = 1024;
+    private PlanificadorES anterior;
+    private ProcessTable tablaAnterior;
+    private final List<Punto> guardados = new ArrayList<>();
+    private final Registro registro = new Registro();
+    private int desde;
+
+    /** Estado serializado al final de un instante y cuánto del registro había hasta ahí. */
+    private static final class Punto {
+        final int tiempo;
+        final byte[] estado;
+        final int largoRegistro;
+        final int largoExtras;
+
+        Punto(int tiempo, byte[] estado, int largoRegistro, int largoExtras) {
+            this.tiempo = tiempo;
+            this.estado = estado;
+            this.largoRegistro = largoRegistro;
+            this.largoExtras = largoExtras;
+        }
+    }
+
+    /**
+     * Todo lo que el planificador emitió, en orden y por fila, para volver a
+     * entregarlo sin re-simular. Cada entrada es un código y sus enteros; los
+     * indicadores guardan su nombre y valor aparte.
+     */
+    private static final class Registro implements SimulationSink {
+        static final int SEGMENTO = 0, TERMINADO = 1, ES = 2, EXTRA = 3, EXTRA_PROCESO = 4;
+
+        int[] datos = new int[1024];
+        int largo;
+        final List<String> nombres = new ArrayList<>();
+        double[] valores = new double[16];
+
+        private void agregar(int a, int b, int c, int d) {
+            if (largo + 5 > datos.length) datos = Arrays.copyOf(datos, datos.length * 2);
+            datos[largo++] = a;
+            datos[largo++] = b;
+            datos[largo++] = c;
+            datos[largo++] = d;
+        }
+
+        private int agregarExtra(String nombre, double valor) {
+            if (nombres.size() == valores.length) valores = Arrays.copyOf(valores, valores.length * 2);
+            valores[nombres.size()] = valor;
+            nombres.add(nombre);
+            return nombres.size() - 1;
+        }
+
+        @Override
+        public void segmento(int proceso, int inicio, int fin) {
+            agregar(SEGMENTO, proceso, inicio, fin);
+        }
+
+        @Override
+        public void terminado(int proceso, int espera, int respuesta, int turnaround) {
+            agregar(TERMINADO, proceso, espera, respuesta);
+            datos[largo++] = turnaround;
+        }
+
+        @Override
+        public void entradaSalida(int proceso, int inicio, int fin) {
+            agregar(ES, proceso, inicio, fin);
+        }
+
+        @Override
+        public void extra(String nombre, double valor) {
+            agregar(EXTRA, agregarExtra(nombre, valor), 0, 0);
+        }
+
+        @Override
+        public void extra(String nombre, int proceso, double valor) {
+            agregar(EXTRA_PROCESO, proceso, agregarExtra(nombre, valor), 0);
+        }
+
+        void truncar(int largoRegistro, int largoExtras) {
+            largo = largoRegistro;
+            nombres.subList(largoExtras, nombres.size()).clear();
+        }
+
+        void reproducir(SimulationSink sink) {
+            int i = 0;
+            while (i < largo) {
+                int codigo = datos[i];
+                int p = datos[i + 1];
+                switch (codigo) {
+                    case SEGMENTO:
+                        sink.segmento(p, datos[i + 2], datos[i + 3]);
+                        break;
+                    case TERMINADO:
+                        sink.terminado(p, datos[i + 2], datos[i + 3], datos[i + 4]);
+                        i++;
+                        break;
+                    case ES:
+                        sink.entradaSalida(p, datos[i + 2], datos[i + 3]);
+                        break;
+                    case EXTRA:
+                        sink.extra(nombres.get(p), valores[p]);
+                        break;
+                    default:
+                        sink.extra(nombres.get(datos[i + 2]), p, valores[datos[i + 2]]);
+                        break;
+                }
+                i += 4;
+            }
+        }
+    }
+
+    /** Puntos de control que se intentan mantener por corrida (se guardan entre este y el doble). */
+    public ResimulacionIncremental setPuntos(int puntos) {
+        if (puntos <= 0) throw new IllegalArgumentException("Puntos debe ser > 0");
+        this.puntos = puntos;
+        return this;
+    }
+
+    /** Eventos mínimos entre dos puntos de control (con tablas chicas no vale la pena guardar más seguido). */
+    public ResimulacionIncremental setEventosMinimos(long eventos) {
+        if (eventos <= 0) throw new IllegalArgumentException("Eventos debe ser > 0");
+        this.eventosMinimos = eventos;
+        return this;
+    }
+
+    /** Instante desde el que se retomó la última simulación (0 = desde el principio). */
+    public int getDesde() { return desde; }
+
+    /** Descarta los puntos de control: la próxima simulación empieza en t = 0. */
+    public void reiniciar() {
+        anterior = null;
+        tablaAnterior = null;
+        guardados.clear();
+        registro.truncar(0, 0);
+    }
+
+    /** Simula la tabla reutilizando la corrida anterior hasta donde no cambió. */
+    public SimulationResult simular(PlanificadorES planificador, ProcessTable tabla) {
+        PlanificadorES.Estado estado = null;
+        if (anterior != null && anterior.getPolitica() == planificador.getPolitica()
+                && anterior.getQuantum() == planificador.getQuantum()) {
+            int afectada = primeraLlegadaAfectada(tablaAnterior, tabla);
+            // Último punto con todo lo que cambió llegando después de él
+            int k = guardados.size() - 1;
+            while (k >= 0 && guardados.get(k).tiempo >= afectada) k--;
+            guardados.subList(k + 1, guardados.size()).clear();
+            if (k >= 0) {
+                Punto p = guardados.get(k);
+                registro.truncar(p.largoRegistro, p.largoExtras);
+                estado = planificador.continuar(leer(p.estado), tabla);
+            }
+        }
+        if (estado == null) {
+            reiniciar();
+            estado = planificador.iniciar(tabla);
+        }
+        anterior = planificador;
+        tablaAnterior = tabla;
+        desde = estado.getTiempo();
+
+        long rafagas = 0;
+        for (int i = 0; i < tabla.size(); i++) rafagas += tabla.numRafagas(i);
+        long intervalo = Math.max(eventosMinimos, 2 * rafagas / puntos);
+        try {
+            while (!planificador.avanzar(estado, tabla, registro, Long.MAX_VALUE, intervalo)) {
+                int previo = guardados.isEmpty() ? 1024 : guardados.get(guardados.size() - 1).estado.length;
+                guardados.add(new Punto(estado.getTiempo(), escribir(estado, previo), registro.largo, registro.nombres.size()));
+                if (guardados.size() >= 2 * puntos) {
+                    // Se queda con uno de cada dos y los siguientes se espacian el doble
+                    for (int k = 0; k < puntos; k++) guardados.set(k, guardados.get(2 * k + 1));
+                    guardados.subList(puntos, guardados.size()).clear();
+                    intervalo *= 2;
+                }
+            }
+        } catch (RuntimeException e) {
+            reiniciar();
+            throw e;
+        }
+
+        SimulationCollector c = new SimulationCollector(tabla, false);
+        registro.reproducir(c);
+        return c.resultado(estado.getTiempo());
+    }
+
+    /** Menor llegada (vieja o nueva) entre las filas cuya llegada o ráfagas cambiaron. */
+    static int primeraLlegadaAfectada(ProcessTable vieja, ProcessTable nueva) {
+        int afectada = Integer.MAX_VALUE;
+        for (int i = 0; i < Math.max(vieja.size(), nueva.size()); i++) {
+            if (i >= vieja.size()) {
+                afectada = Math.min(afectada, nueva.llegada(i));
+            } else if (i >= nueva.size()) {
+                afectada = Math.min(afectada, vieja.llegada(i));
+            } else if (!mismaCarga(vieja, nueva, i)) {
+                afectada = Math.min(afectada, Math.min(vieja.llegada(i), nueva.llegada(i)));
+            }
+        }
+        return afectada;
+    }
+
+    private static boolean mismaCarga(ProcessTable vieja, ProcessTable nueva, int i) {
+        if (vieja.llegada(i) != nueva.llegada(i) || vieja.numRafagas(i) != nueva.numRafagas(i)) return false;
+        for (int k = 0; k < vieja.numRafagas(i); k++) {
+            if (vieja.rafaga(i, k) != nueva.rafaga(i, k)) return false;
+        }
+        return true;
+    }
+
+    /** @param tamano tamaño esperado (el del punto anterior), para no agrandar el buffer mientras se escribe */
+    private static byte[] escribir(PlanificadorES.Estado estado, int tamano) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(tamano + tamano / 8);
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(estado);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static PlanificadorES.Estado leer(byte[] estado) {
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(estado))) {
+            return (PlanificadorES.Estado) in.readObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -3,12 +3,29 @@ package p1.scheduler;
 import p1.engine.Metrics;
 import p1.engine.Segment;
 import p1.engine.SimulationResult;
+import p1.model.ProcessTable;
 import p1.model.Proceso;
 
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public class SJF implements Planificador {
 
+    private final int costeCambio;
+
+    public SJF() {
+        this(0);
+    }
+
+    /** @param costeCambio duración del segmento "CS" antes de cada despacho salvo el primero */
+    public SJF(int costeCambio) {
+        if (costeCambio < 0) throw new IllegalArgumentException("Costo de cambio no puede ser negativo");
+        this.costeCambio = costeCambio;
+    }
+
+    public int getCosteCambio() { return costeCambio; }
+
     @Override
     public SimulationResult simular(List<Proceso> procesos) {
         List<Segment> timeline = new ArrayList<>();
@@ -16,6 +33,7 @@ public class SJF implements Planificador {
 
         List<Proceso> pendientes = new ArrayList<>(procesos);
         int tiempo = 0;
+        boolean primero = true;
 
         while (!pendientes.isEmpty()) {
             // Buscar procesos que ya llegaron
@@ -42,6 +60,13 @@ public class SJF implements Planificador {
                     .min(Comparator.comparingInt(Proceso::getRafaga))
                     .orElse(disponibles.get(0));
 
+            // Cambio de contexto (el proceso ya quedó elegido; no es expropiativo)
+            if (costeCambio > 0 && !primero) {
+                timeline.add(new Segment("CS", tiempo, tiempo + costeCambio));
+                tiempo += costeCambio;
+            }
+            primero = false;
+
             int inicio = tiempo;
             int fin = inicio + actual.getRafaga();
             timeline.add(new Segment(actual.getId(), inicio, fin));
@@ -57,4 +82,16 @@ public class SJF implements Planificador {
 
         return new SimulationResult(timeline, metricsMap, tiempo);
     }
+
+    /** Sobre la tabla columnar delega en {@link SJFHeap}, que da el mismo resultado. */
+    @Override
+    public SimulationResult simular(ProcessTable tabla) {
+        return new SJFHeap(costeCambio).simular(tabla);
+    }
+
+    @Override
+    public SimulationResult simular(ProcessTable tabla, Consumer<Segment> segmentos,
+                                    BiConsumer<String, Metrics> terminados) {
+        return new SJFHeap(costeCambio).simular(tabla, segmentos, terminados);
+    }
 }
\ No newline at end of file
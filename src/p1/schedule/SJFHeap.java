@@ -0,0 +1,82 @@
+package p1.scheduler;
+
+import p1.engine.LongHeap;
+import p1.engine.SimulationSink;
+import p1.model.ProcessTable;
+
+/**
+ * SJF no expropiativo en O(n log n).
+ * Ordena las llegadas una sola vez, avanza un cursor sobre ellas y mantiene los
+ * procesos listos en un montículo, en vez de recorrer y borrar de la lista de
+ * pendientes en cada despacho.
+ *
+ * Desempate (reproducible y idéntico a {@link SJF}):
+ * - Primero la menor ráfaga.
+ * - Con ráfagas iguales gana el que aparece antes en la lista de entrada
+ *   (orden de inserción en la tabla), sin importar su llegada.
+ * - Si no hay listos se emite un único segmento IDLE hasta la siguiente llegada.
+ * - Con {@code costeCambio > 0} cada despacho salvo el primero va precedido
+ *   de un segmento CS; la elección se hace antes del cambio.
+ *
+ * Las métricas se devuelven en orden de ejecución, igual que {@link SJF}.
+ */
+public class SJFHeap extends PlanificadorTabla {
+
+    private final int costeCambio;
+
+    public SJFHeap() {
+        this(0);
+    }
+
+    public SJFHeap(int costeCambio) {
+        if (costeCambio < 0) throw new IllegalArgumentException("Costo de cambio no puede ser negativo");
+        this.costeCambio = costeCambio;
+    }
+
+    public int getCosteCambio() { return costeCambio; }
+
+    @Override
+    protected int ejecutar(ProcessTable tabla, SimulationSink sink) {
+        int n = tabla.size();
+        long[] orden = tabla.ordenPorLlegada();
+        LongHeap listos = new LongHeap();   // clave: (ráfaga, índice de entrada)
+
+        int tiempo = 0;
+        int cursor = 0;
+        boolean primero = true;
+
+        while (cursor < n || !listos.isEmpty()) {
+            while (cursor < n && LongHeap.clave(orden[cursor]) <= tiempo) {
+                int i = LongHeap.indice(orden[cursor++]);
+                listos.add(LongHeap.empaquetar(tabla.rafaga(i), i));
+            }
+
+            if (listos.isEmpty()) {
+                // Avanzar al siguiente proceso más cercano
+                int siguienteLlegada = LongHeap.clave(orden[cursor]);
+                sink.segmento(SimulationSink.IDLE, tiempo, siguienteLlegada);
+                tiempo = siguienteLlegada;
+                continue;
+            }
+
+            int i = LongHeap.indice(listos.poll());
+            if (costeCambio > 0 && !primero) {
+                sink.segmento(SimulationSink.CAMBIO, tiempo, tiempo + costeCambio);
+                tiempo += costeCambio;
+            }
+            primero = false;
+            int inicio = tiempo;
+            int fin = inicio + tabla.rafaga(i);
+            sink.segmento(i, inicio, fin);
+
+            int respuesta = inicio - tabla.llegada(i);
+            int turnaround = fin - tabla.llegada(i);
+            int espera = turnaround - tabla.rafaga(i);
+            sink.terminado(i, espera, respuesta, turnaround);
+
+            tiempo = fin;
+        }
+
+        return tiempo;
+    }
+}
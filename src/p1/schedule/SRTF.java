@@ -3,11 +3,33 @@ package p1.scheduler;
 import p1.engine.Metrics;
 import p1.engine.Segment;
 import p1.engine.SimulationResult;
+import p1.model.ProcessTable;
 import p1.model.Proceso;
 
 import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
 public class SRTF implements Planificador {
+
+    private final int costeCambio;
+
+    public SRTF() {
+        this(0);
+    }
+
+    /**
+     * @param costeCambio duración del segmento "CS" al pasar a un proceso
+     *                    distinto del último cargado; el cambio no se
+     *                    interrumpe y al terminar se vuelve a elegir
+     */
+    public SRTF(int costeCambio) {
+        if (costeCambio < 0) throw new IllegalArgumentException("Costo de cambio no puede ser negativo");
+        this.costeCambio = costeCambio;
+    }
+
+    public int getCosteCambio() { return costeCambio; }
+
     @Override
     public SimulationResult simular(List<Proceso> procesos) {
         List<Segment> timeline = new ArrayList<>();
@@ -23,6 +45,7 @@ public class SRTF implements Planificador {
         int tiempo = 0;
         Proceso actual = null;
         int inicio = -1;
+        String cargado = null;   // último proceso cuyo contexto se cargó
 
         while (!remainingTime.isEmpty()) {
             List<Proceso> disponibles = new ArrayList<>();
@@ -45,6 +68,15 @@ public class SRTF implements Planificador {
                 if (actual != null && inicio != -1) {
                     timeline.add(new Segment(actual.getId(), inicio, tiempo));
                 }
+                if (costeCambio > 0 && cargado != null && !cargado.equals(siguiente.getId())) {
+                    timeline.add(new Segment("CS", tiempo, tiempo + costeCambio));
+                    tiempo += costeCambio;
+                    cargado = siguiente.getId();
+                    actual = null;
+                    inicio = -1;
+                    continue;
+                }
+                cargado = siguiente.getId();
                 actual = siguiente;
                 inicio = tiempo;
                 if (!startTimes.containsKey(actual.getId())) {
@@ -75,4 +107,16 @@ public class SRTF implements Planificador {
 
         return new SimulationResult(timeline, metricsMap, tiempo);
     }
+
+    /** Sobre la tabla columnar delega en {@link SRTFEventos}, que da el mismo resultado. */
+    @Override
+    public SimulationResult simular(ProcessTable tabla) {
+        return new SRTFEventos(costeCambio).simular(tabla);
+    }
+
+    @Override
+    public SimulationResult simular(ProcessTable tabla, Consumer<Segment> segmentos,
+                                    BiConsumer<String, Metrics> terminados) {
+        return new SRTFEventos(costeCambio).simular(tabla, segmentos, terminados);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,127 @@
+package p1.scheduler;
+
+import p1.engine.LongHeap;
+import p1.engine.SimulationSink;
+import p1.model.ProcessTable;
+
+/**
+ * SRTF dirigido por eventos.
+ * En lugar de avanzar el reloj de uno en uno, solo despierta en la siguiente
+ * llegada o en la siguiente finalización, y elige el proceso con menor tiempo
+ * restante desde un montículo. Costo O(n log n) frente a O(ráfaga total × n).
+ *
+ * Produce exactamente el mismo timeline y las mismas métricas que {@link SRTF}:
+ * - Desempate por posición en la lista de entrada (el primero gana), también
+ *   frente al proceso en ejecución.
+ * - No se emiten segmentos IDLE.
+ * - Las métricas se devuelven en el orden de la lista de entrada.
+ * - Con {@code costeCambio > 0}, pasar a un proceso distinto del último
+ *   cargado cuesta un segmento CS que no se interrumpe; al terminar el cambio
+ *   se vuelve a elegir con las llegadas ocurridas mientras tanto.
+ */
+public class SRTFEventos extends PlanificadorTabla {
+
+    private final int costeCambio;
+
+    public SRTFEventos() {
+        this(0);
+    }
+
+    public SRTFEventos(int costeCambio) {
+        if (costeCambio < 0) throw new IllegalArgumentException("Costo de cambio no puede ser negativo");
+        this.costeCambio = costeCambio;
+    }
+
+    public int getCosteCambio() { return costeCambio; }
+
+    @Override
+    protected boolean metricasEnOrdenDeEntrada() {
+        return true;
+    }
+
+    @Override
+    protected int ejecutar(ProcessTable tabla, SimulationSink sink) {
+        int n = tabla.size();
+        int[] restante = new int[n];
+        int[] inicioP = new int[n];
+        for (int i = 0; i < n; i++) {
+            restante[i] = tabla.rafaga(i);
+            inicioP[i] = -1;
+        }
+
+        // Orden de llegada (si igual, orden de aparición)
+        long[] orden = tabla.ordenPorLlegada();
+        LongHeap listos = new LongHeap();   // clave: (restante, índice)
+
+        int tiempo = 0;
+        int cursor = 0;
+        int terminados = 0;
+        int actual = -1;
+        int inicio = -1;
+        int cargado = -1;
+
+        while (terminados < n) {
+            if (actual == -1) {
+                // CPU libre: si no hay listos, saltar a la siguiente llegada
+                if (listos.isEmpty() && tiempo < LongHeap.clave(orden[cursor])) {
+                    tiempo = LongHeap.clave(orden[cursor]);
+                }
+                while (cursor < n && LongHeap.clave(orden[cursor]) <= tiempo) {
+                    int i = LongHeap.indice(orden[cursor++]);
+                    listos.add(LongHeap.empaquetar(restante[i], i));
+                }
+                actual = LongHeap.indice(listos.poll());
+                while (costeCambio > 0 && cargado != -1 && cargado != actual) {
+                    sink.segmento(SimulationSink.CAMBIO, tiempo, tiempo + costeCambio);
+                    tiempo += costeCambio;
+                    cargado = actual;
+                    while (cursor < n && LongHeap.clave(orden[cursor]) <= tiempo) {
+                        int i = LongHeap.indice(orden[cursor++]);
+                        listos.add(LongHeap.empaquetar(restante[i], i));
+                    }
+                    long clave = LongHeap.empaquetar(restante[actual], actual);
+                    if (!listos.isEmpty() && listos.peek() < clave) {
+                        listos.add(clave);
+                        actual = LongHeap.indice(listos.poll());
+                    }
+                }
+                cargado = actual;
+                inicio = tiempo;
+                if (inicioP[actual] == -1) inicioP[actual] = tiempo;
+            }
+
+            int fin = tiempo + restante[actual];
+            int siguienteLlegada = cursor < n ? LongHeap.clave(orden[cursor]) : Integer.MAX_VALUE;
+
+            if (fin <= siguienteLlegada) {
+                // Evento de finalización
+                tiempo = fin;
+                restante[actual] = 0;
+                sink.segmento(actual, inicio, tiempo);
+                int turnaround = tiempo - tabla.llegada(actual);
+                sink.terminado(actual, turnaround - tabla.rafaga(actual),
+                        inicioP[actual] - tabla.llegada(actual), turnaround);
+                terminados++;
+                actual = -1;
+                continue;
+            }
+
+            // Evento de llegada: descontar lo ejecutado y revisar expropiación
+            restante[actual] -= siguienteLlegada - tiempo;
+            tiempo = siguienteLlegada;
+            while (cursor < n && LongHeap.clave(orden[cursor]) <= tiempo) {
+                int i = LongHeap.indice(orden[cursor++]);
+                listos.add(LongHeap.empaquetar(restante[i], i));
+            }
+            long claveActual = LongHeap.empaquetar(restante[actual], actual);
+            if (listos.peek() < claveActual) {
+                // Expropiación: el despacho (y el posible cambio) se hace arriba
+                sink.segmento(actual, inicio, tiempo);
+                listos.add(claveActual);
+                actual = -1;
+            }
+        }
+
+        return tiempo;
+    }
+}
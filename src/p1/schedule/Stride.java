@@ -0,0 +1,71 @@
+package p1.scheduler;
+
+import p1.engine.IndexedHeap;
+import p1.model.ProcessTable;
+
+/**
+ * Planificación por stride (lotería determinista).
+ * - Cada proceso tiene un paso {@code STRIDE1 / boletos} y un "pass"; corre el
+ *   de menor pass y al usar la CPU su pass avanza en proporción a lo usado
+ *   (un quantum completo suma un paso entero).
+ * - Los listos están en un {@link IndexedHeap} por pass, O(log n) por decisión.
+ * - Un proceso que llega entra con el menor pass actual más su paso (como si
+ *   acabara de usar un quantum): no acapara la CPU por haber estado ausente ni
+ *   se adelanta a los que ya esperaban.
+ */
+public class Stride extends PlanificadorProporcional {
+
+    private static final long STRIDE1 = 1L << 20;
+
+    public Stride(int quantum) {
+        super(quantum);
+    }
+
+    @Override
+    protected Reparto iniciar(ProcessTable tabla) {
+        return new Corrida(tabla);
+    }
+
+    private class Corrida extends Reparto {
+        private final IndexedHeap listos;
+        private final long[] paso;
+        private final long[] pass;
+        private long passMinimo;
+
+        Corrida(ProcessTable tabla) {
+            int n = tabla.size();
+            listos = new IndexedHeap(n);
+            paso = new long[n];
+            pass = new long[n];
+            for (int i = 0; i < n; i++) {
+                paso[i] = STRIDE1 / boletos(tabla.prioridad(i));
+            }
+        }
+
+        @Override
+        protected void entrar(int fila) {
+            if (!listos.isEmpty()) passMinimo = Math.max(passMinimo, listos.peekClave());
+            pass[fila] = passMinimo + paso[fila];
+            listos.add(fila, pass[fila]);
+        }
+
+        @Override
+        protected void salir(int fila) {
+            listos.remove(fila);
+        }
+
+        @Override
+        protected int elegir() {
+            int fila = listos.peek();
+            passMinimo = Math.max(passMinimo, listos.peekClave());
+            return fila;
+        }
+
+        @Override
+        protected void cobrar(int fila, int usado) {
+            pass[fila] += paso[fila] * usado / quantum;
+            listos.remove(fila);
+            listos.add(fila, pass[fila]);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package p1.ui;
+
+import p1.engine.BarridoQuantum.Punto;
+
+import javax.swing.*;
+import java.awt.*;
+import java.util.*;
+import java.util.List;
+
+/**
+ * Gráfica del barrido de quantum: respuesta y turnaround (promedio y p95)
+ * contra el quantum, una curva por cada costo de cambio de contexto.
+ */
+public class CurvaQuantumPanel extends JPanel {
+
+    private static final String[] SERIES = {"Resp. prom", "Resp. p95", "Turn. prom", "Turn. p95"};
+    private static final Color[] COLORES = {
+            new Color(30, 110, 200), new Color(120, 170, 230),
+            new Color(200, 70, 40), new Color(235, 150, 120)};
+
+    private List<Punto> puntos = Collections.emptyList();
+
+    public void setPuntos(List<Punto> puntos) {
+        this.puntos = puntos != null ? puntos : Collections.emptyList();
+        repaint();
+    }
+
+    private static double valor(Punto p, int serie) {
+        switch (serie) {
+            case 0: return p.respuestaPromedio;
+            case 1: return p.respuestaP95;
+            case 2: return p.turnaroundPromedio;
+            default: return p.turnaroundP95;
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        if (puntos.isEmpty()) {
+            g.setColor(Color.GRAY);
+            g.drawString("Sin datos de barrido", 10, 20);
+            return;
+        }
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+        int w = getWidth();
+        int h = getHeight();
+        int izq = 50, der = 130, arriba = 15, abajo = 30;
+
+        int qMin = puntos.stream().mapToInt(p -> p.quantum).min().orElse(0);
+        int qMax = puntos.stream().mapToInt(p -> p.quantum).max().orElse(1);
+        double yMax = 1;
+        for (Punto p : puntos) {
+            for (int s = 0; s < SERIES.length; s++) yMax = Math.max(yMax, valor(p, s));
+        }
+        double ancho = w - izq - der;
+        double alto = h - arriba - abajo;
+        double spanQ = Math.max(1, qMax - qMin);
+
+        // Ejes
+        g2.setColor(Color.DARK_GRAY);
+        g2.drawLine(izq, h - abajo, w - der, h - abajo);
+        g2.drawLine(izq, arriba, izq, h - abajo);
+        g2.drawString(String.valueOf(qMin), izq, h - abajo + 15);
+        g2.drawString(String.valueOf(qMax), w - der - 10, h - abajo + 15);
+        g2.drawString("quantum", (int) (izq + ancho / 2) - 20, h - 5);
+        g2.drawString(String.format("%.0f", yMax), 5, arriba + 10);
+        g2.drawString("0", izq - 15, h - abajo);
+
+        // Una curva por (serie, costo); los puntos ya vienen ordenados por (costo, quantum)
+        Map<Integer, List<Punto>> porCoste = new LinkedHashMap<>();
+        for (Punto p : puntos) porCoste.computeIfAbsent(p.costeCambio, k -> new ArrayList<>()).add(p);
+        int k = 0;
+        for (Map.Entry<Integer, List<Punto>> e : porCoste.entrySet()) {
+            float[] trazo = k == 0 ? null : new float[]{4f + 2 * k, 3f};
+            g2.setStroke(new BasicStroke(1.6f, BasicStroke.CAP_BUTT, BasicStroke.JOIN_ROUND, 1f, trazo, 0f));
+            for (int s = 0; s < SERIES.length; s++) {
+                g2.setColor(COLORES[s]);
+                int px = -1, py = -1;
+                for (Punto p : e.getValue()) {
+                    int x = izq + (int) Math.round((p.quantum - qMin) / spanQ * ancho);
+                    int y = h - abajo - (int) Math.round(valor(p, s) / yMax * alto);
+                    if (px >= 0) g2.drawLine(px, py, x, y);
+                    g2.fillOval(x - 2, y - 2, 4, 4);
+                    px = x;
+                    py = y;
+                }
+            }
+            k++;
+        }
+
+        // Leyenda
+        g2.setStroke(new BasicStroke(1f));
+        int ly = arriba + 10;
+        for (int s = 0; s < SERIES.length; s++) {
+            g2.setColor(COLORES[s]);
+            g2.fillRect(w - der + 10, ly - 8, 10, 10);
+            g2.setColor(Color.BLACK);
+            g2.drawString(SERIES[s], w - der + 25, ly);
+            ly += 16;
+        }
+        if (porCoste.size() > 1) {
+            g2.drawString("Costos CS: " + porCoste.keySet(), w - der + 10, ly + 4);
+        }
+        g2.dispose();
+    }
+}
@@ -1,48 +1,143 @@
 package p1.ui;
 
+import p1.engine.LectorTimeline;
 import p1.engine.Segment;
 
 import javax.swing.*;
 import javax.swing.Timer;
 import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
 import java.util.*;
 import java.util.List;
 
 public class GanttPanel extends JPanel {
 
     private List<Segment> segments = Collections.emptyList();
+    private List<Segment> segmentsES = Collections.emptyList(); // carril del dispositivo de E/S
+    // Timeline guardado en disco: se dibuja solo [verDesde, verHasta), leído del archivo en cada repintado
+    private LectorTimeline archivo;
+    private int verDesde;
+    private int verHasta;
+    private int arrastreX = -1;
+    private Timer animacion;    // la animación en curso, si hay una
+
+    /** Unidades de tiempo visibles al abrir un timeline; de ahí se aleja con la rueda. */
+    public static final int VENTANA_INICIAL = 10_000;
+
+    public GanttPanel() {
+        // Rueda = zoom alrededor del mouse, arrastre = desplazar; solo con un archivo abierto
+        MouseAdapter navegacion = new MouseAdapter() {
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                if (archivo == null) return;
+                double factor = Math.pow(1.25, e.getPreciseWheelRotation());
+                long ancho = verHasta - verDesde;
+                double fraccion = Math.max(0, Math.min(1, (e.getX() - 10.0) / Math.max(1, getWidth() - 20)));
+                long centro = verDesde + Math.round(fraccion * ancho);
+                long nuevo = Math.max(10, Math.round(ancho * factor));
+                mover(centro - Math.round(fraccion * nuevo), nuevo);
+            }
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                arrastreX = e.getX();
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (archivo == null || arrastreX < 0) return;
+                long ancho = verHasta - verDesde;
+                long dt = Math.round((arrastreX - e.getX()) * ancho / Math.max(1.0, getWidth() - 20));
+                arrastreX = e.getX();
+                mover(verDesde + dt, ancho);
+            }
+        };
+        addMouseWheelListener(navegacion);
+        addMouseListener(navegacion);
+        addMouseMotionListener(navegacion);
+    }
 
     public void setSegments(List<Segment> segments) {
+        detenerAnimacion();
         this.segments = segments != null ? segments : Collections.emptyList();
+        this.archivo = null;
+        repaint();
+    }
+
+    /**
+     * Muestra un timeline guardado con {@link p1.engine.EscritorTimeline},
+     * empezando por [desde, hasta). Cada repintado lee del archivo a lo sumo
+     * un bloque por columna de píxeles (ver {@link LectorTimeline#muestrear}),
+     * así que sirve para corridas de cientos de millones de segmentos.
+     */
+    public void mostrarArchivo(LectorTimeline archivo, int desde, int hasta) {
+        detenerAnimacion();
+        this.archivo = archivo;
+        this.segments = Collections.emptyList();
+        this.segmentsES = Collections.emptyList();
+        if (archivo != null) mover(desde, (long) hasta - desde);
+        repaint();
+    }
+
+    private void mover(long desde, long ancho) {
+        long total = Math.max(1, archivo.getTiempoFinal());
+        ancho = Math.max(1, Math.min(ancho, total));
+        desde = Math.max(0, Math.min(desde, total - ancho));
+        verDesde = (int) desde;
+        verHasta = (int) (desde + ancho);
+        repaint();
+    }
+
+    /** Periodos de E/S que se dibujan debajo de la CPU (vacío = sin carril de E/S). */
+    public void setSegmentsES(List<Segment> segmentsES) {
+        this.segmentsES = segmentsES != null ? segmentsES : Collections.emptyList();
         repaint();
     }
     
     //metodo de la animacion
     public void animarSegmentos(List<Segment> todos) {
-    segments = new ArrayList<>();
-    if (todos == null || todos.isEmpty()) return;
+        detenerAnimacion();
+        segments = Collections.emptyList();
+        archivo = null;
+        repaint();
+        if (todos == null || todos.isEmpty()) return;
 
-    Timer timer = new Timer(400, null); // 400 ms entre cada segmento
-    final int[] index = {0};
+        Timer timer = new Timer(400, null); // 400 ms entre cada segmento
+        final int[] index = {0};
 
-    timer.addActionListener(e -> {
-        if (index[0] < todos.size()) {
-            segments.add(todos.get(index[0]));
-            repaint();
-            index[0]++;
-        } else {
-            timer.stop();
-        }
-    });
+        // Cada paso muestra un prefijo más largo de la lista: el timer no modifica segments
+        timer.addActionListener(e -> {
+            if (index[0] < todos.size()) {
+                index[0]++;
+                segments = todos.subList(0, index[0]);
+                repaint();
+            } else {
+                timer.stop();
+            }
+        });
 
-    timer.start();
-}
+        animacion = timer;
+        timer.start();
+    }
+
+    private void detenerAnimacion() {
+        if (animacion != null) {
+            animacion.stop();
+            animacion = null;
+        }
+    }
     
     
 
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
+        if (archivo != null) {
+            pintarArchivo(g);
+            return;
+        }
         if (segments.isEmpty()) {
             // Mensaje vacío
             g.setColor(Color.GRAY);
@@ -60,6 +155,10 @@ public class GanttPanel extends JPanel {
         // Calcular tiempo total
         int tMax = segments.stream().mapToInt(Segment::getFin).max().orElse(0);
         if (tMax == 0) return;
+        int tMostrado = tMax; // durante la animación la E/S avanza junto con la CPU
+        if (!segmentsES.isEmpty()) {
+            tMax = Math.max(tMax, segmentsES.stream().mapToInt(Segment::getFin).max().orElse(0));
+        }
 
         // Escala horizontal
         double pxPorUnidad = (w - 20.0) / tMax;
@@ -67,35 +166,23 @@ public class GanttPanel extends JPanel {
         // Paleta por proceso
         Map<String, Color> colores = new HashMap<>();
         Color idleColor = new Color(220, 220, 220);
+        Color cambioColor = new Color(90, 90, 90);
         Random rnd = new Random(42);
 
         int y = margen;
         int altoBarra = Math.max(20, h - margen - 35);
+        int altoCpu = segmentsES.isEmpty() ? altoBarra : Math.max(20, (altoBarra - 6) / 2);
 
         // Dibujar cada segmento como rectángulo
         for (Segment s : segments) {
-            int x = (int) Math.round(s.getInicio() * pxPorUnidad);
-            int ancho = Math.max(1, (int) Math.round(s.getDuracion() * pxPorUnidad));
-
-            Color c;
-            if ("IDLE".equals(s.getProcesoId())) {
-                c = idleColor;
-            } else {
-                c = colores.computeIfAbsent(s.getProcesoId(), k ->
-                        new Color(60 + rnd.nextInt(160), 60 + rnd.nextInt(160), 60 + rnd.nextInt(160)));
-            }
-
-            g2.setColor(c);
-            g2.fillRect(x + 10, y, ancho, altoBarra);
-            g2.setColor(Color.DARK_GRAY);
-            g2.drawRect(x + 10, y, ancho, altoBarra);
-
-            // Etiqueta del proceso
-            g2.setColor(Color.BLACK);
-            String label = s.getProcesoId();
-            int tx = x + 12;
-            int ty = y + altoBarra / 2 + g2.getFontMetrics().getAscent()/2 - 2;
-            g2.drawString(label, tx, ty);
+            dibujarSegmento(g2, s.getProcesoId(), s.getInicio(), s.getFin(), pxPorUnidad, y, altoCpu,
+                    colores, idleColor, cambioColor, rnd);
+        }
+        // Carril de E/S debajo de la CPU
+        for (Segment s : segmentsES) {
+            if (s.getInicio() >= tMostrado) continue;
+            dibujarSegmento(g2, s.getProcesoId(), s.getInicio(), s.getFin(), pxPorUnidad, y + altoCpu + 6, altoCpu,
+                    colores, idleColor, cambioColor, rnd);
         }
 
         // Eje de tiempo (marcas cada 1 unidad, simplificado)
@@ -112,5 +199,87 @@ public class GanttPanel extends JPanel {
         }
         g2.dispose();
     }
-    
-}
\ No newline at end of file
+
+    /**
+     * Dibuja solo la ventana visible del archivo, con un segmento por columna
+     * de píxeles: {@link LectorTimeline#muestrear} salta entre bloques con el
+     * índice, así el costo depende del ancho del panel y no de cuántos
+     * segmentos hay en la ventana.
+     */
+    private void pintarArchivo(Graphics g) {
+        Graphics2D g2 = (Graphics2D) g.create();
+        g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        int w = getWidth();
+        int h = getHeight();
+        int margen = 30;
+        int altoBarra = Math.max(20, h - margen - 35);
+        int ancho = Math.max(1, verHasta - verDesde);
+        double pxPorUnidad = (w - 20.0) / ancho;
+
+        Map<String, Color> colores = new HashMap<>();
+        Color idleColor = new Color(220, 220, 220);
+        Color cambioColor = new Color(90, 90, 90);
+        Random rnd = new Random(42);
+        int[] ultimaX = {-1};
+        archivo.muestrear(verDesde, verHasta, Math.max(1, w - 20), (proceso, inicio, fin) -> {
+            int a = Math.max(inicio, verDesde) - verDesde;
+            int b = Math.min(fin, verHasta) - verDesde;
+            int x = (int) Math.round(a * pxPorUnidad);
+            if (x <= ultimaX[0] && (int) Math.round(b * pxPorUnidad) <= ultimaX[0]) return;
+            ultimaX[0] = Math.max(x, (int) Math.round(b * pxPorUnidad) - 1);
+            String id = archivo.etiqueta(proceso);
+            if (proceso >= 0) {
+                // Color fijo por id: no cambia al hacer zoom o desplazar
+                colores.computeIfAbsent(id, k -> {
+                    Random r = new Random(k.hashCode());
+                    return new Color(60 + r.nextInt(160), 60 + r.nextInt(160), 60 + r.nextInt(160));
+                });
+            }
+            dibujarSegmento(g2, id, a, b, pxPorUnidad, margen, altoBarra, colores, idleColor, cambioColor, rnd);
+        });
+
+        // Eje de tiempo: solo las marcas con número
+        g2.setColor(Color.DARK_GRAY);
+        g2.drawLine(10, margen + altoBarra + 10, w - 10, margen + altoBarra + 10);
+        int paso = Math.max(1, ancho / 10);
+        for (long t = 0; t <= ancho; t += paso) {
+            int x = (int) Math.round(t * pxPorUnidad) + 10;
+            g2.drawLine(x, margen + altoBarra + 8, x, margen + altoBarra + 12);
+            String txt = String.valueOf(verDesde + t);
+            int tw = g2.getFontMetrics().stringWidth(txt);
+            g2.drawString(txt, x - tw/2, margen + altoBarra + 25);
+        }
+        g2.drawString("[" + verDesde + ", " + verHasta + ") de " + archivo.getTiempoFinal()
+                + " · " + archivo.size() + " segmentos · rueda = zoom, arrastrar = mover", 10, 15);
+        g2.dispose();
+    }
+
+    private static void dibujarSegmento(Graphics2D g2, String id, int inicio, int fin, double pxPorUnidad, int y,
+                                        int altoBarra, Map<String, Color> colores, Color idleColor,
+                                        Color cambioColor, Random rnd) {
+        int x = (int) Math.round(inicio * pxPorUnidad);
+        int ancho = Math.max(1, (int) Math.round((fin - inicio) * pxPorUnidad));
+
+        Color c;
+        if ("IDLE".equals(id)) {
+            c = idleColor;
+        } else if ("CS".equals(id)) {
+            c = cambioColor;
+        } else {
+            c = colores.computeIfAbsent(id, k ->
+                    new Color(60 + rnd.nextInt(160), 60 + rnd.nextInt(160), 60 + rnd.nextInt(160)));
+        }
+
+        g2.setColor(c);
+        g2.fillRect(x + 10, y, ancho, altoBarra);
+        g2.setColor(Color.DARK_GRAY);
+        g2.drawRect(x + 10, y, ancho, altoBarra);
+
+        // Etiqueta del proceso
+        g2.setColor(Color.BLACK);
+        String label = id;
+        int tx = x + 12;
+        int ty = y + altoBarra / 2 + g2.getFontMetrics().getAscent()/2 - 2;
+        g2.drawString(label, tx, ty);
+    }
+}
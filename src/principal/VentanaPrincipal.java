@@ -29,8 +29,8 @@ import p1.engine.SimulationResult;
 import p1.model.Proceso;
 import p1.scheduler.FCFS;
 import p1.scheduler.Planificador;
-import p1.scheduler.SJF;
-import p1.scheduler.SRTF;
+import p1.scheduler.SJFHeap;
+import p1.scheduler.SRTFEventos;
 import p1.ui.GanttPanel;
 import p3.FileSystem;
 import p3.TreeAdapter;
@@ -45,6 +45,10 @@ public class VentanaPrincipal extends javax.swing.JFrame {
     private DefaultTableModel modeloTabla;
     private final GanttPanel gantt = new GanttPanel();
     private SimulationResult ultimoResultado;
+    // Puntos de control de la última corrida "+ E/S": al editar la tabla se retoma desde antes del cambio
+    private final p1.scheduler.ResimulacionIncremental resimulacion = new p1.scheduler.ResimulacionIncremental();
+    private static final int ENVEJECIMIENTO = 10; // unidades de espera por nivel de prioridad ganado
+    private int costeCambio; // costo de cambio de contexto para FCFS, SJF, SRTF y RR
     private List<String> listaPaginas;
     private javax.swing.JTextArea resultadosRemplazoArea;
 
@@ -154,11 +158,48 @@ public class VentanaPrincipal extends javax.swing.JFrame {
         // ==========================
         modeloTabla = (DefaultTableModel) tablaProcesos.getModel();
         modeloTabla.setRowCount(0);
-        modeloTabla.setColumnIdentifiers(new Object[]{"ID", "Llegada", "Ráfaga"});
+        modeloTabla.setColumnIdentifiers(new Object[]{"ID", "Llegada", "Ráfaga", "Prioridad", "Plazo"});
+        tipoAlgoritmo.addItem("MLFQ");
+        tipoAlgoritmo.addItem("Prioridad");
+        tipoAlgoritmo.addItem("Prioridad (exp.)");
+        tipoAlgoritmo.addItem("CFS");
+        tipoAlgoritmo.addItem("Lotería");
+        tipoAlgoritmo.addItem("Stride");
+        tipoAlgoritmo.addItem("EDF");
+        tipoAlgoritmo.addItem("FCFS + E/S");
+        tipoAlgoritmo.addItem("SJF + E/S");
+        tipoAlgoritmo.addItem("SRTF + E/S");
+        tipoAlgoritmo.addItem("RR + E/S");
         gantt.setPreferredSize(new Dimension(600, 200));
         panelGantt.setLayout(new BorderLayout());
         panelGantt.add(gantt, BorderLayout.CENTER);
 
+        // Herramientas de planificación (clic derecho sobre la tabla de procesos)
+        javax.swing.JPopupMenu menuPlanificacion = new javax.swing.JPopupMenu();
+        javax.swing.JMenuItem itemBarrido = new javax.swing.JMenuItem("Barrido de quantum (RR)...");
+        itemBarrido.addActionListener(e -> mostrarBarridoQuantum());
+        menuPlanificacion.add(itemBarrido);
+        javax.swing.JMenuItem itemComparar = new javax.swing.JMenuItem("Comparar algoritmos");
+        itemComparar.addActionListener(e -> compararAlgoritmos());
+        menuPlanificacion.add(itemComparar);
+        javax.swing.JMenuItem itemGenerar = new javax.swing.JMenuItem("Generar carga sintética...");
+        itemGenerar.addActionListener(e -> generarCargaSintetica());
+        menuPlanificacion.add(itemGenerar);
+        javax.swing.JMenuItem itemTraza = new javax.swing.JMenuItem("Cargar traza CSV...");
+        itemTraza.addActionListener(e -> cargarTrazaCsv());
+        menuPlanificacion.add(itemTraza);
+        javax.swing.JMenuItem itemGuardarTimeline = new javax.swing.JMenuItem("Guardar timeline...");
+        itemGuardarTimeline.addActionListener(e -> guardarTimeline());
+        menuPlanificacion.add(itemGuardarTimeline);
+        javax.swing.JMenuItem itemAbrirTimeline = new javax.swing.JMenuItem("Abrir timeline...");
+        itemAbrirTimeline.addActionListener(e -> abrirTimeline());
+        menuPlanificacion.add(itemAbrirTimeline);
+        javax.swing.JMenuItem itemCambio = new javax.swing.JMenuItem("Costo de cambio de contexto...");
+        itemCambio.addActionListener(e -> pedirCosteCambio());
+        menuPlanificacion.add(itemCambio);
+        tablaProcesos.setComponentPopupMenu(menuPlanificacion);
+        jScrollPane.setComponentPopupMenu(menuPlanificacion);
+
         // ==========================
         // Simulador de reemplazo de página
         // ==========================
@@ -740,7 +781,7 @@ public class VentanaPrincipal extends javax.swing.JFrame {
                 javax.swing.JOptionPane.showMessageDialog(this, "Llegada ≥ 0 y Ráfaga > 0");
                 return;
             }
-            modeloTabla.addRow(new Object[]{id, llegada, rafaga});
+            modeloTabla.addRow(new Object[]{id, llegada, rafaga, 0, 0});
         } catch (NumberFormatException ex) {
             javax.swing.JOptionPane.showMessageDialog(this, "Ingresa números válidos en Llegada y Ráfaga.");
         }
@@ -763,7 +804,10 @@ public class VentanaPrincipal extends javax.swing.JFrame {
     private void simularRunActionPerformed(java.awt.event.ActionEvent evt) {
 //GEN-FIRST:event_simularRunActionPerformed
         // TODO add your handling code here:
-        var procesos = leerProcesosDeTabla();
+        var procesos = leerProcesosOAvisar();
+        if (procesos == null) {
+            return;
+        }
         if (procesos.isEmpty()) {
             javax.swing.JOptionPane.showMessageDialog(this, "Agrega al menos un proceso.");
             return;
@@ -772,13 +816,13 @@ public class VentanaPrincipal extends javax.swing.JFrame {
         String algoritmo = String.valueOf(tipoAlgoritmo.getSelectedItem());
         Planificador planificador;
 
-        if ("RR".equals(algoritmo)) {
+        if (usaQuantum(algoritmo)) {
             try {
                 int q = Integer.parseInt(quantum.getText().trim());
                 if (q <= 0) {
                     throw new NumberFormatException();
                 }
-                planificador = new p1.schedule.RR(q);
+                planificador = crearPlanificador(algoritmo, q);
                 quantumActual.setText(String.valueOf(q));
             } catch (NumberFormatException ex) {
                 javax.swing.JOptionPane.showMessageDialog(this, "Quantum debe ser un número entero positivo.");
@@ -787,35 +831,55 @@ public class VentanaPrincipal extends javax.swing.JFrame {
         } else {
             planificador = crearPlanificador(); // FCFS, SJF, SRTF, etc.
         }
+        if (!simulaES(planificador) && rechazaES(procesos, algoritmo)) {
+            return;
+        }
 
-        ultimoResultado = planificador.simular(procesos);
+        boolean incremental = planificador instanceof p1.scheduler.PlanificadorES;
+        ultimoResultado = incremental
+                ? resimulacion.simular((p1.scheduler.PlanificadorES) planificador, p1.model.ProcessTable.de(procesos))
+                : planificador.simular(procesos);
         SimulationResult result = ultimoResultado;
+        gantt.setSegmentsES(result.getTimelineES());
         gantt.animarSegmentos(result.getTimeline());
 
         // Mostrar métricas en orden de ejecución
         StringBuilder sb = new StringBuilder("=== Métricas ===\n");
-        double e = 0, r = 0, tt = 0;
-        int n = 0;
         Set<String> mostrados = new HashSet<>();
 
         for (var seg : result.getTimeline()) {
             String pid = seg.getProcesoId();
-            if ("IDLE".equals(pid) || mostrados.contains(pid)) {
+            if ("IDLE".equals(pid) || "CS".equals(pid) || mostrados.contains(pid)) {
                 continue;
             }
 
             var m = result.getMetricsPorProceso().get(pid);
-            sb.append(String.format("%s -> espera=%d, respuesta=%d, turnaround=%d%n",
+            sb.append(String.format("%s -> espera=%d, respuesta=%d, turnaround=%d",
                     pid, m.espera, m.respuesta, m.turnaround));
-            e += m.espera;
-            r += m.respuesta;
-            tt += m.turnaround;
-            n++;
+            result.getExtrasPorProceso().forEach((nombre, valores) -> {
+                Double v = valores.get(pid);
+                if (v != null) sb.append(String.format(", %s=%.3f", nombre, v));
+            });
+            sb.append(String.format("%n"));
             mostrados.add(pid);
         }
 
-        if (n > 0) {
-            sb.append(String.format("%nPromedios: espera=%.2f, respuesta=%.2f, turnaround=%.2f", e / n, r / n, tt / n));
+        var resumen = result.getResumen();
+        if (resumen.getConteo() > 0) {
+            sb.append(String.format("%nPromedios: espera=%.2f, respuesta=%.2f, turnaround=%.2f%n",
+                    resumen.getEspera().getPromedio(), resumen.getRespuesta().getPromedio(),
+                    resumen.getTurnaround().getPromedio()));
+            sb.append(formatearCola("Espera", resumen.getEspera()));
+            sb.append(formatearCola("Respuesta", resumen.getRespuesta()));
+            sb.append(formatearCola("Turnaround", resumen.getTurnaround()));
+        }
+        sb.append(String.format("Uso de CPU=%.1f%%, throughput=%.3f proc/u, cambios de contexto=%d, sobrecarga=%.1f%%%n",
+                100 * result.getUtilizacionCpu(), result.getThroughput(),
+                result.getCambiosDeContexto(), 100 * result.getFraccionSobrecarga()));
+        result.getExtras().forEach((nombre, valor) ->
+                sb.append(String.format("%s: %.3f%n", nombre, valor)));
+        if (incremental && resimulacion.getDesde() > 0) {
+            sb.append(String.format("(re-simulado desde t=%d)%n", resimulacion.getDesde()));
         }
 
         textAreaResultados.setText(sb.toString());
@@ -827,7 +891,7 @@ public class VentanaPrincipal extends javax.swing.JFrame {
         // TODO add your handling code here:
         String seleccionado = String.valueOf(tipoAlgoritmo.getSelectedItem());
 
-        if ("RR".equals(seleccionado)) {
+        if (usaQuantum(seleccionado)) {
             quantum.setEnabled(true);
         } else {
             quantum.setEnabled(false);
@@ -1212,28 +1276,402 @@ public class VentanaPrincipal extends javax.swing.JFrame {
     }//GEN-LAST:event_crearAleatorioActionPerformed
 
 //1)----Algotimos de Planificaion----
+    /** Procesos de la tabla; una celda inválida lanza IllegalArgumentException con el número de fila. */
     private List<Proceso> leerProcesosDeTabla() {
         List<Proceso> lista = new ArrayList<>();
         for (int i = 0; i < modeloTabla.getRowCount(); i++) {
-            String id = String.valueOf(modeloTabla.getValueAt(i, 0));
-            int llegada = Integer.parseInt(String.valueOf(modeloTabla.getValueAt(i, 1)));
-            int rafaga = Integer.parseInt(String.valueOf(modeloTabla.getValueAt(i, 2)));
-            lista.add(new Proceso(id, llegada, rafaga));
+            try {
+                lista.add(leerProceso(i));
+            } catch (NumberFormatException ex) {
+                throw new IllegalArgumentException("Fila " + (i + 1) + ": se esperaba un número entero.", ex);
+            } catch (IllegalArgumentException ex) {
+                throw new IllegalArgumentException("Fila " + (i + 1) + ": " + ex.getMessage() + ".", ex);
+            }
         }
         return lista;
     }
 
+    private Proceso leerProceso(int i) {
+        String id = String.valueOf(modeloTabla.getValueAt(i, 0));
+        int llegada = Integer.parseInt(String.valueOf(modeloTabla.getValueAt(i, 1)));
+        // La ráfaga puede ser una secuencia CPU,E/S,CPU,... (p. ej. "3,4,2")
+        String[] partes = String.valueOf(modeloTabla.getValueAt(i, 2)).split(",");
+        int[] rafagas = new int[partes.length];
+        for (int k = 0; k < partes.length; k++) {
+            rafagas[k] = Integer.parseInt(partes[k].trim());
+        }
+        Object prio = modeloTabla.getColumnCount() > 3 ? modeloTabla.getValueAt(i, 3) : null;
+        int prioridad = prio == null || String.valueOf(prio).isBlank() ? 0 : Integer.parseInt(String.valueOf(prio).trim());
+        Object pl = modeloTabla.getColumnCount() > 4 ? modeloTabla.getValueAt(i, 4) : null;
+        int plazo = pl == null || String.valueOf(pl).isBlank() ? 0 : Integer.parseInt(String.valueOf(pl).trim());
+        return rafagas.length > 1
+                ? new Proceso(id, llegada, rafagas, prioridad)
+                : new Proceso(id, llegada, rafagas[0], prioridad, plazo);
+    }
+
+    /** Como {@link #leerProcesosDeTabla()}, pero muestra el error y devuelve null. */
+    private List<Proceso> leerProcesosOAvisar() {
+        try {
+            return leerProcesosDeTabla();
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, ex.getMessage());
+            return null;
+        }
+    }
+
+    /** ¿El planificador simula las ráfagas de E/S? Los demás correrían el total de CPU de un tirón. */
+    private static boolean simulaES(Planificador planificador) {
+        return planificador instanceof p1.scheduler.PlanificadorES || planificador instanceof p1.scheduler.Prioridad;
+    }
+
+    /** Si hay procesos con E/S avisa que {@code que} no la simula y devuelve true. */
+    private boolean rechazaES(List<Proceso> procesos, String que) {
+        for (Proceso p : procesos) {
+            if (p.tieneES()) {
+                JOptionPane.showMessageDialog(this, p.getId() + " tiene ráfagas de E/S y " + que
+                        + " solo simula CPU.\nUsa un algoritmo \"+ E/S\" o Prioridad, o deja una sola ráfaga por proceso.");
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static final int MAX_FILAS_GENERADAS = 2000; // la tabla y el Gantt no sirven para más
+
+    /** Reemplaza la tabla de procesos con una carga sintética reproducible. */
+    private void generarCargaSintetica() {
+        javax.swing.JTextField cantidad = new javax.swing.JTextField("20");
+        javax.swing.JTextField semilla = new javax.swing.JTextField("42");
+        javax.swing.JComboBox<String> llegadas = new javax.swing.JComboBox<>(new String[]{"Poisson", "Ráfagas"});
+        javax.swing.JTextField tasa = new javax.swing.JTextField("0.5");
+        javax.swing.JComboBox<String> rafagas = new javax.swing.JComboBox<>(new String[]{"Exponencial", "Bimodal", "Pareto"});
+        javax.swing.JTextField media = new javax.swing.JTextField("5");
+        javax.swing.JPanel form = new javax.swing.JPanel(new GridLayout(0, 2, 5, 5));
+        form.add(new JLabel("Procesos (máx. " + MAX_FILAS_GENERADAS + ")"));
+        form.add(cantidad);
+        form.add(new JLabel("Semilla"));
+        form.add(semilla);
+        form.add(new JLabel("Llegadas"));
+        form.add(llegadas);
+        form.add(new JLabel("Llegadas por unidad de tiempo"));
+        form.add(tasa);
+        form.add(new JLabel("Ráfagas"));
+        form.add(rafagas);
+        form.add(new JLabel("Ráfaga media"));
+        form.add(media);
+        if (JOptionPane.showConfirmDialog(this, form, "Carga sintética",
+                JOptionPane.OK_CANCEL_OPTION) != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        p1.model.GeneradorCarga generador;
+        try {
+            int n = Integer.parseInt(cantidad.getText().trim());
+            if (n <= 0 || n > MAX_FILAS_GENERADAS) {
+                throw new IllegalArgumentException("Procesos debe estar entre 1 y " + MAX_FILAS_GENERADAS);
+            }
+            double t = Double.parseDouble(tasa.getText().trim());
+            double m = Double.parseDouble(media.getText().trim());
+            // Las variantes conservan la tasa y la ráfaga media elegidas
+            p1.model.GeneradorCarga.Llegadas ll = llegadas.getSelectedIndex() == 0
+                    ? p1.model.GeneradorCarga.Llegadas.poisson(t)
+                    : p1.model.GeneradorCarga.Llegadas.rafagas(4 * t, 0, 10, 30);
+            p1.model.GeneradorCarga.Rafagas ra;
+            switch (rafagas.getSelectedIndex()) {
+                case 1:
+                    ra = p1.model.GeneradorCarga.Rafagas.bimodal(0.5 * m, 5.5 * m, 0.1);
+                    break;
+                case 2:
+                    ra = p1.model.GeneradorCarga.Rafagas.pareto(1.5, m / 3);
+                    break;
+                default:
+                    ra = p1.model.GeneradorCarga.Rafagas.exponencial(m);
+            }
+            generador = new p1.model.GeneradorCarga(ll, ra, n, Long.parseLong(semilla.getText().trim()));
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, "Parámetros inválidos: " + ex.getMessage());
+            return;
+        }
+
+        modeloTabla.setRowCount(0);
+        for (Proceso p : generador) {
+            modeloTabla.addRow(new Object[]{p.getId(), p.getLlegada(), p.getRafaga(), p.getPrioridad(), 0});
+        }
+    }
+
+    /** Reemplaza la tabla de procesos con el comienzo de una traza CSV (id, llegada, ráfaga[, prioridad]). */
+    private void cargarTrazaCsv() {
+        JFileChooser selector = new JFileChooser();
+        if (selector.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        p1.model.ProcessTable bloque;
+        boolean hayMas;
+        try {
+            p1.model.TrazaCsv traza = p1.model.TrazaCsv.abrir(selector.getSelectedFile().toPath());
+            bloque = traza.siguienteBloque(MAX_FILAS_GENERADAS);
+            hayMas = traza.hayMas();
+        } catch (IOException | IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, "No se pudo leer la traza: " + ex.getMessage());
+            return;
+        }
+        if (bloque == null) {
+            JOptionPane.showMessageDialog(this, "La traza está vacía.");
+            return;
+        }
+
+        modeloTabla.setRowCount(0);
+        for (int i = 0; i < bloque.size(); i++) {
+            modeloTabla.addRow(new Object[]{bloque.id(i), bloque.llegada(i), bloque.rafaga(i), bloque.prioridad(i), 0});
+        }
+        if (hayMas) {
+            JOptionPane.showMessageDialog(this, "Se cargaron solo los primeros " + MAX_FILAS_GENERADAS + " procesos de la traza.");
+        }
+    }
+
+    /** Guarda el timeline de la última simulación en formato binario. */
+    private void guardarTimeline() {
+        if (ultimoResultado == null) {
+            JOptionPane.showMessageDialog(this, "Primero ejecuta una simulación.");
+            return;
+        }
+        JFileChooser selector = new JFileChooser();
+        if (selector.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        try {
+            p1.engine.EscritorTimeline.guardar(selector.getSelectedFile().toPath(), ultimoResultado.getTimeline());
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "No se pudo guardar el timeline: " + ex.getMessage());
+        }
+    }
+
+    /** Muestra en el Gantt un timeline guardado (rueda = zoom, arrastrar = desplazar). */
+    private void abrirTimeline() {
+        JFileChooser selector = new JFileChooser();
+        if (selector.showOpenDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        try {
+            p1.engine.LectorTimeline lector = p1.engine.LectorTimeline.abrir(selector.getSelectedFile().toPath());
+            gantt.mostrarArchivo(lector, 0, Math.min(lector.getTiempoFinal(), GanttPanel.VENTANA_INICIAL));
+        } catch (IOException ex) {
+            JOptionPane.showMessageDialog(this, "No se pudo abrir el timeline: " + ex.getMessage());
+        }
+    }
+
+    private void mostrarBarridoQuantum() {
+        List<Proceso> procesos = leerProcesosOAvisar();
+        if (procesos == null) {
+            return;
+        }
+        if (procesos.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Agrega al menos un proceso.");
+            return;
+        }
+        if (rechazaES(procesos, "el barrido de quantum (RR)")) {
+            return;
+        }
+
+        javax.swing.JTextField qMin = new javax.swing.JTextField("1");
+        javax.swing.JTextField qMax = new javax.swing.JTextField("10");
+        javax.swing.JTextField qPaso = new javax.swing.JTextField("1");
+        javax.swing.JTextField cMin = new javax.swing.JTextField("0");
+        javax.swing.JTextField cMax = new javax.swing.JTextField("0");
+        javax.swing.JTextField cPaso = new javax.swing.JTextField("1");
+        javax.swing.JPanel form = new javax.swing.JPanel(new GridLayout(0, 4, 5, 5));
+        form.add(new JLabel(""));
+        form.add(new JLabel("Mín"));
+        form.add(new JLabel("Máx"));
+        form.add(new JLabel("Paso"));
+        form.add(new JLabel("Quantum"));
+        form.add(qMin);
+        form.add(qMax);
+        form.add(qPaso);
+        form.add(new JLabel("Costo CS"));
+        form.add(cMin);
+        form.add(cMax);
+        form.add(cPaso);
+        if (JOptionPane.showConfirmDialog(this, form, "Barrido de quantum (RR)",
+                JOptionPane.OK_CANCEL_OPTION) != JOptionPane.OK_OPTION) {
+            return;
+        }
+
+        p1.engine.BarridoQuantum barrido;
+        try {
+            barrido = new p1.engine.BarridoQuantum(
+                    Integer.parseInt(qMin.getText().trim()), Integer.parseInt(qMax.getText().trim()),
+                    Integer.parseInt(qPaso.getText().trim()), Integer.parseInt(cMin.getText().trim()),
+                    Integer.parseInt(cMax.getText().trim()), Integer.parseInt(cPaso.getText().trim()));
+        } catch (IllegalArgumentException ex) {
+            JOptionPane.showMessageDialog(this, "Rangos inválidos: " + ex.getMessage());
+            return;
+        }
+
+        p1.model.ProcessTable tabla = p1.model.ProcessTable.de(procesos);
+        new javax.swing.SwingWorker<List<p1.engine.BarridoQuantum.Punto>, Void>() {
+            @Override
+            protected List<p1.engine.BarridoQuantum.Punto> doInBackground() {
+                return barrido.ejecutar(tabla);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    mostrarPuntosBarrido(get());
+                } catch (Exception ex) {
+                    logger.log(java.util.logging.Level.SEVERE, "Barrido de quantum", ex);
+                    JOptionPane.showMessageDialog(VentanaPrincipal.this, "Error en el barrido: " + ex.getMessage());
+                }
+            }
+        }.execute();
+    }
+
+    private void compararAlgoritmos() {
+        List<Proceso> procesos = leerProcesosOAvisar();
+        if (procesos == null) {
+            return;
+        }
+        if (procesos.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Agrega al menos un proceso.");
+            return;
+        }
+        if (rechazaES(procesos, "la comparación")) {
+            return;
+        }
+        int q;
+        try {
+            q = Integer.parseInt(quantum.getText().trim());
+            if (q <= 0) {
+                throw new NumberFormatException();
+            }
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "Quantum debe ser un número entero positivo.");
+            return;
+        }
+
+        p1.model.ProcessTable tabla = p1.model.ProcessTable.de(procesos);
+        p1.engine.Comparador comparador = new p1.engine.Comparador()
+                .agregar("FCFS", new FCFS())
+                .agregar("SJF", new SJFHeap())
+                .agregar("SRTF", new SRTFEventos())
+                .agregar("RR(q=" + q + ")", new p1.scheduler.RRIndexado(q));
+        textAreaResultados.setText("Comparando algoritmos...");
+        new javax.swing.SwingWorker<String, Void>() {
+            @Override
+            protected String doInBackground() {
+                return p1.engine.Comparador.reporte(comparador.ejecutar(tabla));
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    textAreaResultados.setFont(new Font("Monospaced", Font.PLAIN, 12));
+                    textAreaResultados.setText("=== Comparación ===\n" + get());
+                } catch (Exception ex) {
+                    logger.log(java.util.logging.Level.SEVERE, "Comparación de algoritmos", ex);
+                    textAreaResultados.setText("Error en la comparación: " + ex.getMessage());
+                }
+            }
+        }.execute();
+    }
+
+    private void mostrarPuntosBarrido(List<p1.engine.BarridoQuantum.Punto> puntos) {
+        DefaultTableModel modelo = new DefaultTableModel(new Object[]{
+            "Quantum", "Costo CS", "Resp. prom", "Resp. p95", "Turn. prom", "Turn. p95", "Tiempo final"}, 0);
+        for (var p : puntos) {
+            modelo.addRow(new Object[]{p.quantum, p.costeCambio,
+                String.format("%.2f", p.respuestaPromedio), p.respuestaP95,
+                String.format("%.2f", p.turnaroundPromedio), p.turnaroundP95, p.tiempoFinal});
+        }
+        p1.ui.CurvaQuantumPanel curva = new p1.ui.CurvaQuantumPanel();
+        curva.setPreferredSize(new Dimension(700, 300));
+        curva.setPuntos(puntos);
+
+        javax.swing.JDialog dialogo = new javax.swing.JDialog(this, "Barrido de quantum (RR)", false);
+        dialogo.setLayout(new BorderLayout());
+        dialogo.add(curva, BorderLayout.NORTH);
+        dialogo.add(new JScrollPane(new JTable(modelo)), BorderLayout.CENTER);
+        dialogo.setSize(760, 560);
+        dialogo.setLocationRelativeTo(this);
+        dialogo.setVisible(true);
+    }
+
+    private static String formatearCola(String nombre, p1.engine.Distribucion d) {
+        return String.format("%s: p50=%d, p95=%d, p99=%d, max=%d%n",
+                nombre, d.percentil(50), d.percentil(95), d.percentil(99), d.getMaximo());
+    }
+
+    private static boolean usaQuantum(String algoritmo) {
+        switch (algoritmo) {
+            case "RR":
+            case "MLFQ":
+            case "Lotería":
+            case "Stride":
+            case "RR + E/S":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private Planificador crearPlanificador(String algoritmo, int q) {
+        switch (algoritmo) {
+            case "MLFQ":
+                return new p1.scheduler.MLFQ(3, q, 20 * q); // quantums q, 2q, 4q; boost cada 20q
+            case "Lotería":
+                return new p1.scheduler.Loteria(q);
+            case "Stride":
+                return new p1.scheduler.Stride(q);
+            case "RR + E/S":
+                return new p1.scheduler.PlanificadorES(p1.scheduler.PlanificadorES.Politica.RR, q);
+            default:
+                return new p1.scheduler.RRIndexado(q, costeCambio);
+        }
+    }
+
     private Planificador crearPlanificador() {
         String alg = String.valueOf(tipoAlgoritmo.getSelectedItem());
         switch (alg) {
             case "FCFS":
-                return new FCFS();
+                return new FCFS(costeCambio);
             case "SJF":
-                return new SJF();
+                return new SJFHeap(costeCambio);
             case "SRTF":
-                return new SRTF();
+                return new SRTFEventos(costeCambio);
+            case "Prioridad":
+                return new p1.scheduler.Prioridad(false, ENVEJECIMIENTO);
+            case "Prioridad (exp.)":
+                return new p1.scheduler.Prioridad(true, ENVEJECIMIENTO);
+            case "CFS":
+                return new p1.scheduler.CFS();
+            case "EDF":
+                return new p1.scheduler.EDF();
+            case "FCFS + E/S":
+                return new p1.scheduler.PlanificadorES(p1.scheduler.PlanificadorES.Politica.FCFS);
+            case "SJF + E/S":
+                return new p1.scheduler.PlanificadorES(p1.scheduler.PlanificadorES.Politica.SJF);
+            case "SRTF + E/S":
+                return new p1.scheduler.PlanificadorES(p1.scheduler.PlanificadorES.Politica.SRTF);
             default:
-                return new FCFS();
+                return new FCFS(costeCambio);
+        }
+    }
+
+    private void pedirCosteCambio() {
+        String valor = JOptionPane.showInputDialog(this,
+                "Costo de cambio de contexto (FCFS, SJF, SRTF, RR):", costeCambio);
+        if (valor == null) {
+            return;
+        }
+        try {
+            int c = Integer.parseInt(valor.trim());
+            if (c < 0) {
+                throw new NumberFormatException();
+            }
+            costeCambio = c;
+        } catch (NumberFormatException ex) {
+            JOptionPane.showMessageDialog(this, "El costo debe ser un entero >= 0.");
         }
     }
 //2)----Algotimos de remplazo----